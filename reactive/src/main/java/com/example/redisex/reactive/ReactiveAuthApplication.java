@@ -0,0 +1,17 @@
+package com.example.redisex.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/*
+    WebFlux + Reactive Redis + R2DBC로 구현한 인증 API
+    서블릿 버전(redisEx)과 같은 redis 키, lua 스크립트, 토큰 형식을 사용하므로 두 버전을 섞어서 배포해도 토큰이 호환됨
+ */
+@SpringBootApplication
+public class ReactiveAuthApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveAuthApplication.class, args);
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.example.redisex.reactive.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class PasswordConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    /*
+        BCrypt 전용 스케줄러
+        이벤트 루프 스레드에서 해시를 계산하면 그동안 다른 요청을 전혀 처리하지 못하므로 별도 스레드에서 실행
+        스레드 수(pool-size)와 대기 작업 수(queue-capacity)를 제한해서 넘치면 바로 거절 (503)
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler passwordHashingScheduler(
+            @Value("${security.password.executor.pool-size:0}") int poolSize,
+            @Value("${security.password.executor.queue-capacity:64}") int queueCapacity
+    ) {
+        // 0이면 CPU 코어 수만큼 사용
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return Schedulers.newBoundedElastic(threads, queueCapacity, "password-hash");
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.redisex.reactive.global.jwt;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/*
+    서블릿 버전 JwtTokenFilter에 해당하는 WebFilter
+    Authorization 헤더의 access 토큰을 검증하고 폐기 여부를 확인한 뒤 VERIFIED_TOKEN 속성에 넣어 컨트롤러로 전달
+    PUBLIC_PATHS 이외의 경로는 유효한 토큰이 없으면 401, /actuator/**는 ADMIN 역할이 없으면 403 (서블릿 버전 WebSecurityConfig와 같은 규칙)
+ */
+@Component
+public class JwtWebFilter implements WebFilter {
+    // @RequestAttribute에서 쓰려면 컴파일 시점 상수여야 함
+    public static final String VERIFIED_TOKEN = "com.example.redisex.reactive.global.jwt.JwtWebFilter.VERIFIED_TOKEN";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final Set<String> PUBLIC_PATHS = Set.of("/users/login", "/users/refresh", "/actuator/health");
+    private static final String ADMIN_PATH_PREFIX = "/actuator/";
+    // 서블릿 버전 Role.ADMIN의 비트
+    private static final int ADMIN_ROLE = 1 << 1;
+
+    private final ReactiveJwtService jwtService;
+    private final ReactiveTokenRevocationService revocationService;
+
+    public JwtWebFilter(ReactiveJwtService jwtService, ReactiveTokenRevocationService revocationService) {
+        this.jwtService = jwtService;
+        this.revocationService = revocationService;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        // 공개 경로는 토큰을 쓰지 않으므로 검증과 redis 조회를 건너뜀
+        if (PUBLIC_PATHS.contains(path)) return chain.filter(exchange);
+
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) return reject(exchange, HttpStatus.UNAUTHORIZED);
+        VerifiedToken verified = jwtService.verify(header.substring(BEARER_PREFIX.length()));
+        if (verified == null) return reject(exchange, HttpStatus.UNAUTHORIZED);
+        if (path.startsWith(ADMIN_PATH_PREFIX) && (verified.roles() & ADMIN_ROLE) == 0)
+            return reject(exchange, HttpStatus.FORBIDDEN);
+
+        return revocationService.isRevoked(verified).flatMap(revoked -> {
+            if (revoked) return reject(exchange, HttpStatus.UNAUTHORIZED);
+            exchange.getAttributes().put(VERIFIED_TOKEN, verified);
+            return chain.filter(exchange);
+        });
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+        exchange.getResponse().setStatusCode(status);
+        return exchange.getResponse().setComplete();
+    }
+}
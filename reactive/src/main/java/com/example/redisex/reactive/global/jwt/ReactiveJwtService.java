@@ -0,0 +1,134 @@
+package com.example.redisex.reactive.global.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/*
+    jwt 생성과 검증 (CPU 작업만 하고 I/O가 없으므로 이벤트 루프에서 바로 실행)
+    서블릿 버전의 HS256 부트스트랩 키와 같은 키, 같은 kid, 같은 클레임을 사용하므로 서로 발급한 토큰을 검증할 수 있음
+    redis 키링(jwt:keys)으로 교체된 키는 지원하지 않음, 키 교체를 쓰는 배포에서는 서블릿 버전을 사용
+ */
+@Slf4j
+@Component
+public class ReactiveJwtService {
+    private static final String TOKEN_TYPE_CLAIM = "token_type";
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
+    private static final String SESSION_ID_CLAIM = "sid";
+    private static final String ROLES_CLAIM = "rl";
+    // 밀리초 단위 발급 시각, not-before(ms)와 비교할 때 사용 (없으면 초 단위 iat)
+    private static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+    // 역할 클레임이 없는 토큰은 USER로 취급
+    private static final int DEFAULT_ROLES = 1;
+
+    private final SecretKey key;
+    private final String keyId;
+    private final JwtParser parser;
+    private final long accessExpirationTime;
+    private final long refreshExpirationTime;
+
+    public ReactiveJwtService(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.signing.key-id:}") String keyId,
+            @Value("${jwt.token.access-expiration-time}") long accessExpirationTime,
+            @Value("${jwt.token.refresh-expiration-time}") long refreshExpirationTime
+    ) {
+        this.key = new SecretKeySpec(Decoders.BASE64.decode(secret), SignatureAlgorithm.HS256.getJcaName());
+        this.keyId = keyId.isBlank() ? deriveKeyId(key.getEncoded()) : keyId;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.accessExpirationTime = accessExpirationTime;
+        this.refreshExpirationTime = refreshExpirationTime;
+    }
+
+    public long getRefreshExpirationTime() {
+        return refreshExpirationTime;
+    }
+
+    public String createAccessToken(String username, int roles, String sessionId) {
+        Claims claims = Jwts.claims().setSubject(username);
+        claims.put(SESSION_ID_CLAIM, sessionId);
+        claims.put(ROLES_CLAIM, roles);
+        return sign(claims, accessExpirationTime);
+    }
+
+    public String createRefreshToken(String username, String sessionId) {
+        Claims claims = Jwts.claims().setSubject(username);
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
+        claims.put(SESSION_ID_CLAIM, sessionId);
+        return sign(claims, refreshExpirationTime);
+    }
+
+    // access 토큰 검증, 유효하지 않거나 refresh 토큰이면 null
+    public VerifiedToken verify(String token) {
+        Claims claims = parse(token);
+        if (claims == null || REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM))) return null;
+        return toVerifiedToken(claims);
+    }
+
+    // refresh 토큰 검증, 유효하지 않거나 access 토큰이면 null
+    public VerifiedToken verifyRefreshToken(String token) {
+        Claims claims = parse(token);
+        if (claims == null || !REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM))) return null;
+        return toVerifiedToken(claims);
+    }
+
+    private String sign(Claims claims, long expirationTime) {
+        Date now = new Date();
+        claims.put(ISSUED_AT_MILLIS_CLAIM, now.getTime());
+        return Jwts.builder()
+                .setHeaderParam("kid", keyId)
+                .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + expirationTime))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private Claims parse(String token) {
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("invalid jwt: {}", e.getClass().getSimpleName());
+            return null;
+        }
+    }
+
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        Integer roles = claims.get(ROLES_CLAIM, Integer.class);
+        Long issuedAtMillis = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getId(),
+                claims.get(SESSION_ID_CLAIM, String.class),
+                roles == null ? DEFAULT_ROLES : roles,
+                issuedAtMillis != null ? issuedAtMillis
+                        : claims.getIssuedAt() == null ? 0L : claims.getIssuedAt().getTime(),
+                claims.getExpiration().getTime());
+    }
+
+    // 서블릿 버전 JwtSigner.deriveKeyId와 같은 방식 (SHA-256 앞 8바이트)
+    private static String deriveKeyId(byte[] encoded) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(encoded);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.redisex.reactive.global.jwt;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/*
+    서블릿 버전 RefreshTokenStore와 같은 키와 lua 스크립트를 사용하는 refresh 토큰 저장소
+    - rt:{username} : 해시, field = 세션 ID, value = 토큰 다이제스트 + 발급 시각 + 교체 횟수 (RefreshTokenCodec)
+    - rs:{username} : 정렬 집합, member = 세션 ID, score = 만료 시각(ms)
+    jwt.session.legacy-read가 켜져 있으면 이전 형식 키(refresh:{username}, refresh-sessions:{username})도 함께 확인
+ */
+@Component
+public class ReactiveRefreshTokenStore {
+    private static final RedisScript<Long> SAVE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/refresh-token-save.lua"), Long.class);
+    private static final RedisScript<Long> ROTATE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/refresh-token-rotate.lua"), Long.class);
+    // 스크립트 인자는 이진 값이므로 문자열 직렬화를 거치지 않고 그대로 전송
+    private static final RedisElementWriter<byte[]> ARGS_WRITER = RedisElementWriter.from(RedisSerializer.byteArray());
+    private static final RedisElementReader<Long> RESULT_READER =
+            RedisElementReader.from(new GenericToStringSerializer<>(Long.class));
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final long ttlMillis;
+    private final int maxSessionsPerUser;
+    private final boolean legacyRead;
+
+    public ReactiveRefreshTokenStore(
+            ReactiveStringRedisTemplate redisTemplate,
+            @Value("${jwt.token.refresh-expiration-time}") long ttlMillis,
+            @Value("${jwt.session.max-per-user:5}") int maxSessionsPerUser,
+            @Value("${jwt.session.legacy-read:true}") boolean legacyRead
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.ttlMillis = ttlMillis;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.legacyRead = legacyRead;
+    }
+
+    public enum RotationResult {
+        ROTATED, NOT_FOUND, REUSED
+    }
+
+    public record Session(String sessionId, long issuedAt, long expiresAt) {
+    }
+
+    public Mono<Void> save(String username, String sessionId, String refreshToken) {
+        long now = System.currentTimeMillis();
+        return redisTemplate.execute(
+                SAVE_SCRIPT,
+                keys(username),
+                List.of(bytes(sessionId), RefreshTokenCodec.encode(refreshToken, now),
+                        bytes(String.valueOf(now + ttlMillis)), bytes(String.valueOf(now)),
+                        bytes(String.valueOf(maxSessionsPerUser)), bytes(String.valueOf(ttlMillis))),
+                ARGS_WRITER,
+                RESULT_READER
+        ).then();
+    }
+
+    // 저장된 세션 토큰의 다이제스트가 oldToken과 같을 때만 newToken으로 교체
+    public Mono<RotationResult> rotate(String username, String sessionId, String oldToken, String newToken) {
+        long now = System.currentTimeMillis();
+        return redisTemplate.execute(
+                ROTATE_SCRIPT,
+                keys(username),
+                List.of(bytes(sessionId), RefreshTokenCodec.digest(oldToken), RefreshTokenCodec.encode(newToken, now),
+                        bytes(String.valueOf(now + ttlMillis)), bytes(String.valueOf(now)),
+                        bytes(String.valueOf(ttlMillis)), bytes(oldToken)),
+                ARGS_WRITER,
+                RESULT_READER
+        ).next().map(result -> {
+            if (result == 0L) return RotationResult.NOT_FOUND;
+            return result > 0 ? RotationResult.ROTATED : RotationResult.REUSED;
+        }).defaultIfEmpty(RotationResult.NOT_FOUND);
+    }
+
+    // 만료되지 않은 세션을 최근 발급 순으로 페이지 단위 조회
+    public Flux<Session> findSessions(String username, int page, int size) {
+        Range<Double> alive = Range.closed((double) System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+        if (!legacyRead)
+            return redisTemplate.opsForZSet()
+                    .reverseRangeByScoreWithScores(sessionsKey(username), alive, Limit.limit().offset(page * size).count(size))
+                    .map(this::toSession);
+
+        // 두 집합에서 각각 (page + 1) * size개까지 읽어서 합친 뒤 해당 페이지만 반환
+        Limit limit = Limit.limit().count((page + 1) * size);
+        return Flux.merge(
+                        redisTemplate.opsForZSet().reverseRangeByScoreWithScores(sessionsKey(username), alive, limit),
+                        redisTemplate.opsForZSet().reverseRangeByScoreWithScores(legacySessionsKey(username), alive, limit))
+                .map(this::toSession)
+                .sort(Comparator.comparingLong(Session::expiresAt).reversed())
+                .skip((long) page * size)
+                .take(size);
+    }
+
+    public Mono<Long> countSessions(String username) {
+        Range<Double> alive = Range.closed((double) System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+        Mono<Long> current = redisTemplate.opsForZSet().count(sessionsKey(username), alive).defaultIfEmpty(0L);
+        if (!legacyRead) return current;
+        return Mono.zip(current, redisTemplate.opsForZSet().count(legacySessionsKey(username), alive).defaultIfEmpty(0L))
+                .map(counts -> counts.getT1() + counts.getT2());
+    }
+
+    private Session toSession(ZSetOperations.TypedTuple<String> tuple) {
+        long expiresAt = tuple.getScore() == null ? 0L : tuple.getScore().longValue();
+        return new Session(tuple.getValue(), expiresAt - ttlMillis, expiresAt);
+    }
+
+    // 스크립트 KEYS 순서 : 새 해시, 새 정렬 집합, (legacy-read일 때) 이전 해시, 이전 정렬 집합
+    private List<String> keys(String username) {
+        List<String> keys = new ArrayList<>(4);
+        keys.add(tokensKey(username));
+        keys.add(sessionsKey(username));
+        if (legacyRead) {
+            keys.add(legacyTokensKey(username));
+            keys.add(legacySessionsKey(username));
+        }
+        return keys;
+    }
+
+    private static String tokensKey(String username) {
+        return "rt:{" + username + "}";
+    }
+
+    private static String sessionsKey(String username) {
+        return "rs:{" + username + "}";
+    }
+
+    private static String legacyTokensKey(String username) {
+        return "refresh:{" + username + "}";
+    }
+
+    private static String legacySessionsKey(String username) {
+        return "refresh-sessions:{" + username + "}";
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
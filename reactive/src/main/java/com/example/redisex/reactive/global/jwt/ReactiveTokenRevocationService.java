@@ -0,0 +1,41 @@
+package com.example.redisex.reactive.global.jwt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/*
+    서블릿 버전 TokenRevocationService가 기록한 폐기 표시(revoked:{jti})와 사용자별 not-before 확인
+    블룸 필터 없이 요청마다 EXISTS와 ZSCORE를 함께 보내지만 이벤트 루프를 막지 않으므로 처리량에는 영향이 작음
+    redis 확인에 실패하면 안전하게 폐기된 것으로 간주
+ */
+@Slf4j
+@Component
+public class ReactiveTokenRevocationService {
+    private static final String KEY_PREFIX = "revoked:";
+    private static final String NOT_BEFORE_KEY = "not-before";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public ReactiveTokenRevocationService(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public Mono<Boolean> isRevoked(VerifiedToken token) {
+        Mono<Boolean> revoked = token.id() == null
+                ? Mono.just(false)
+                : redisTemplate.hasKey(KEY_PREFIX + token.id()).defaultIfEmpty(false);
+        // not-before 이전에 발급된 토큰은 모든 기기 로그아웃, 비밀번호 변경 등으로 폐기된 것
+        Mono<Boolean> beforeCutoff = token.subject() == null
+                ? Mono.just(false)
+                : redisTemplate.opsForZSet().score(NOT_BEFORE_KEY, token.subject())
+                        .map(cutoff -> token.issuedAt() < cutoff)
+                        .defaultIfEmpty(false);
+        return Mono.zip(revoked, beforeCutoff, (a, b) -> a || b)
+                .onErrorResume(e -> {
+                    log.warn("revocation lookup failed: {}", e.getClass());
+                    return Mono.just(true);
+                });
+    }
+}
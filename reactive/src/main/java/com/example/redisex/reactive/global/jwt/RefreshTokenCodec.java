@@ -0,0 +1,39 @@
+package com.example.redisex.reactive.global.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/*
+    서블릿 버전 RefreshTokenRecordSerializer와 같은 29바이트 형식으로 refresh 토큰 정보를 만듦
+    [0] 버전(1) | [1..16] 토큰 SHA-256 앞 16바이트 | [17..24] issuedAt | [25..28] generation (big endian)
+ */
+final class RefreshTokenCodec {
+    private static final byte VERSION = 1;
+    private static final int DIGEST_LENGTH = 16;
+    private static final int SIZE = 1 + DIGEST_LENGTH + Long.BYTES + Integer.BYTES;
+
+    private RefreshTokenCodec() {
+    }
+
+    // 새로 발급한 토큰, generation은 저장(교체) 스크립트가 정함
+    static byte[] encode(String refreshToken, long issuedAt) {
+        return ByteBuffer.allocate(SIZE)
+                .put(VERSION)
+                .put(digest(refreshToken))
+                .putLong(issuedAt)
+                .putInt(0)
+                .array();
+    }
+
+    static byte[] digest(String refreshToken) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(hash, DIGEST_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.redisex.reactive.global.jwt;
+
+/*
+    서명과 만료 검증을 마친 토큰 정보
+    roles는 서블릿 버전 Role의 비트 묶음 그대로 (USER = 1, ADMIN = 2)
+    issuedAt은 epoch millis, 값이 없으면 0
+ */
+public record VerifiedToken(String subject, String id, String sessionId, int roles, long issuedAt, long expiresAt) {
+}
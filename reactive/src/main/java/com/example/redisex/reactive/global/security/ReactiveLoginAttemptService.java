@@ -0,0 +1,119 @@
+package com.example.redisex.reactive.global.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/*
+    서블릿 버전 LoginAttemptService와 같은 키(login-fail:{username}, login-lock:{username})를 사용하는 계정 잠금
+    lettuce는 하나의 연결에서 응답을 기다리지 않고 명령을 이어서 보내므로,
+    Mono.zip으로 동시에 구독한 명령은 파이프라인과 같이 한 번의 왕복으로 처리됨
+    실패 기록과 잠금은 서블릿 버전과 같은 login-failure.lua로 처리하므로 두 버전이 섞여 배포되어도 잠금 시간이 어긋나지 않음
+    redis 장애 시에는 로그인을 막지 않음
+ */
+@Slf4j
+@Component
+public class ReactiveLoginAttemptService {
+    private static final RedisScript<Long> FAILURE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/login-failure.lua"), Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final int maxFailures;
+    private final long window;
+    private final long lockBase;
+    private final long lockMax;
+    private final Counter lockouts;
+
+    // failures : 현재 실패 횟수, lockedUntil : 잠금 해제 시각(ms), 잠기지 않았으면 0
+    public record AttemptState(long failures, long lockedUntil) {
+        public static final AttemptState NONE = new AttemptState(0L, 0L);
+
+        public boolean locked() {
+            return lockedUntil > System.currentTimeMillis();
+        }
+    }
+
+    public ReactiveLoginAttemptService(
+            ReactiveStringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${security.login-attempts.max-failures:5}") int maxFailures,
+            @Value("${security.login-attempts.window:900000}") long window,
+            @Value("${security.login-attempts.lock-base:30000}") long lockBase,
+            @Value("${security.login-attempts.lock-max:900000}") long lockMax
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.maxFailures = maxFailures;
+        this.window = window;
+        this.lockBase = lockBase;
+        this.lockMax = lockMax;
+        this.lockouts = meterRegistry.counter("login.lockouts");
+    }
+
+    // 잠금 남은 시간(PTTL)과 실패 횟수(GET)를 동시에 조회
+    public Mono<AttemptState> state(String username) {
+        return Mono.zip(
+                        redisTemplate.getExpire(lockKey(username)).defaultIfEmpty(Duration.ZERO),
+                        redisTemplate.opsForValue().get(failKey(username)).defaultIfEmpty("0"))
+                .map(result -> {
+                    long lockTtl = result.getT1().toMillis();
+                    return new AttemptState(
+                            Long.parseLong(result.getT2()),
+                            lockTtl > 0 ? System.currentTimeMillis() + lockTtl : 0L);
+                })
+                .onErrorResume(e -> {
+                    log.warn("login attempt lookup failed: {}", e.getClass());
+                    return Mono.just(AttemptState.NONE);
+                });
+    }
+
+    /*
+        실패 기록 : 횟수 증가, 임계값 확인, 잠금 설정을 lua 스크립트 하나로 처리
+        동시에 들어온 실패들이 각자 읽은 횟수로 잠금 시간을 덮어쓰지 않도록 redis 안에서 원자적으로 실행
+        임계값에 도달하면 잠금 해제 시각을 반환, 아니면 0
+     */
+    public Mono<Long> recordFailure(String username) {
+        return redisTemplate.execute(
+                        FAILURE_SCRIPT,
+                        List.of(failKey(username), lockKey(username)),
+                        List.of(Long.toString(window), Integer.toString(maxFailures),
+                                Long.toString(lockBase), Long.toString(lockMax)))
+                .next()
+                .map(duration -> {
+                    if (duration <= 0L) return 0L;
+                    lockouts.increment();
+                    return System.currentTimeMillis() + duration;
+                })
+                .defaultIfEmpty(0L)
+                .onErrorResume(e -> {
+                    log.warn("login attempt record failed: {}", e.getClass());
+                    return Mono.just(0L);
+                });
+    }
+
+    // 로그인 성공 시 실패 기록 삭제
+    public Mono<Void> reset(String username) {
+        return redisTemplate.delete(failKey(username))
+                .onErrorResume(e -> {
+                    log.warn("login attempt reset failed: {}", e.getClass());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private static String failKey(String username) {
+        return "login-fail:{" + username + "}";
+    }
+
+    private static String lockKey(String username) {
+        return "login-lock:{" + username + "}";
+    }
+}
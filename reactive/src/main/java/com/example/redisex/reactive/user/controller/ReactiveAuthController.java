@@ -0,0 +1,58 @@
+package com.example.redisex.reactive.user.controller;
+
+import com.example.redisex.reactive.global.jwt.JwtWebFilter;
+import com.example.redisex.reactive.global.jwt.VerifiedToken;
+import com.example.redisex.reactive.user.dto.JwtTokenDto;
+import com.example.redisex.reactive.user.dto.LoginDto;
+import com.example.redisex.reactive.user.dto.RefreshTokenDto;
+import com.example.redisex.reactive.user.dto.SessionPageDto;
+import com.example.redisex.reactive.user.dto.TokenInfoDto;
+import com.example.redisex.reactive.user.service.ReactiveAuthService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+// 서블릿 버전 UserController와 같은 경로와 요청/응답 형식
+@RestController
+@RequestMapping("/users")
+@RequiredArgsConstructor
+public class ReactiveAuthController {
+    private final ReactiveAuthService service;
+
+    @PostMapping("/login")
+    public Mono<JwtTokenDto> login(@RequestBody @Valid LoginDto request) {
+        return service.login(request);
+    }
+
+    @PostMapping("/refresh")
+    public Mono<JwtTokenDto> refresh(@RequestBody @Valid RefreshTokenDto request) {
+        return service.refresh(request);
+    }
+
+    // access 토큰 검증 결과 (JwtWebFilter에서 검증을 통과해야 호출됨)
+    @GetMapping("/me")
+    public TokenInfoDto me(@RequestAttribute(JwtWebFilter.VERIFIED_TOKEN) VerifiedToken token) {
+        return TokenInfoDto.builder()
+                .username(token.subject())
+                .sessionId(token.sessionId())
+                .roles(token.roles())
+                .expiresAt(token.expiresAt())
+                .build();
+    }
+
+    @GetMapping("/sessions")
+    public Mono<SessionPageDto> sessions(
+            @RequestAttribute(JwtWebFilter.VERIFIED_TOKEN) VerifiedToken token,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return service.sessions(token, page, size);
+    }
+}
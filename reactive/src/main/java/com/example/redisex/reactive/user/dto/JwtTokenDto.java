@@ -0,0 +1,13 @@
+package com.example.redisex.reactive.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class JwtTokenDto {
+    private String accessToken;
+    private String refreshToken;
+}
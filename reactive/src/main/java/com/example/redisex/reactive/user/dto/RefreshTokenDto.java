@@ -0,0 +1,12 @@
+package com.example.redisex.reactive.user.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RefreshTokenDto {
+    @NotBlank(message = "refresh 토큰 입력은 필수입니다.")
+    private String refreshToken;
+}
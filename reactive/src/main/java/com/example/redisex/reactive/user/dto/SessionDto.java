@@ -0,0 +1,13 @@
+package com.example.redisex.reactive.user.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class SessionDto {
+    private String sessionId;
+    // 마지막으로 refresh 토큰이 발급(교체)된 시각, epoch millis
+    private long issuedAt;
+    private long expiresAt;
+}
@@ -0,0 +1,15 @@
+package com.example.redisex.reactive.user.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class SessionPageDto {
+    private List<SessionDto> sessions;
+    private long total;
+    private int page;
+    private int size;
+}
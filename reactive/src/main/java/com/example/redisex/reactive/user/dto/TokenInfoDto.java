@@ -0,0 +1,14 @@
+package com.example.redisex.reactive.user.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// GET /users/me : 현재 access 토큰의 검증 결과
+@Getter
+@Builder
+public class TokenInfoDto {
+    private String username;
+    private String sessionId;
+    private int roles;
+    private long expiresAt;
+}
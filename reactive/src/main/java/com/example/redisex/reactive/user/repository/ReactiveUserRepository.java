@@ -0,0 +1,38 @@
+package com.example.redisex.reactive.user.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/*
+    users 테이블 조회 (스키마는 서블릿 버전의 flyway 마이그레이션이 관리)
+    로그인/재발급에 필요한 컬럼만 읽음
+ */
+@Repository
+public class ReactiveUserRepository {
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public record UserCredentials(String username, String password, int roles) {
+    }
+
+    public Mono<UserCredentials> findByUsername(String username) {
+        return databaseClient.sql("select username, password, roles from users where username = :username")
+                .bind("username", username)
+                .map((row, metadata) -> new UserCredentials(
+                        row.get("username", String.class),
+                        row.get("password", String.class),
+                        row.get("roles", Integer.class)))
+                .one();
+    }
+
+    public Mono<Integer> findRoles(String username) {
+        return databaseClient.sql("select roles from users where username = :username")
+                .bind("username", username)
+                .map((row, metadata) -> row.get("roles", Integer.class))
+                .one();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.redisex.reactive.user.service;
+
+import com.example.redisex.reactive.global.jwt.ReactiveJwtService;
+import com.example.redisex.reactive.global.jwt.ReactiveRefreshTokenStore;
+import com.example.redisex.reactive.global.jwt.VerifiedToken;
+import com.example.redisex.reactive.global.security.PasswordHasher;
+import com.example.redisex.reactive.global.security.ReactiveLoginAttemptService;
+import com.example.redisex.reactive.user.dto.JwtTokenDto;
+import com.example.redisex.reactive.user.dto.LoginDto;
+import com.example.redisex.reactive.user.dto.RefreshTokenDto;
+import com.example.redisex.reactive.user.dto.SessionDto;
+import com.example.redisex.reactive.user.dto.SessionPageDto;
+import com.example.redisex.reactive.user.repository.ReactiveUserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/*
+    서블릿 버전 UserService의 로그인/재발급/세션 조회와 같은 동작을 논블로킹으로 구현
+    BCrypt 비교만 전용 스케줄러에서 실행하고 나머지(redis, DB, jwt 서명)는 이벤트 루프에서 처리
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveAuthService {
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveJwtService jwtService;
+    private final ReactiveRefreshTokenStore refreshTokenStore;
+    private final ReactiveLoginAttemptService loginAttemptService;
+    private final PasswordHasher passwordHasher;
+
+    /*
+        로그인
+        1. 잠긴 계정이면 DB 조회와 BCrypt 비교 없이 바로 거절
+        2. 비밀번호가 틀리면 실패 횟수를 올리고, 임계값을 넘으면 계정을 잠금
+     */
+    public Mono<JwtTokenDto> login(LoginDto request) {
+        String username = request.getUsername();
+        return loginAttemptService.state(username).flatMap(attempts -> {
+            if (attempts.locked()) return Mono.error(locked(attempts.lockedUntil()));
+            return userRepository.findByUsername(username)
+                    .switchIfEmpty(Mono.error(() ->
+                            new ResponseStatusException(HttpStatus.UNAUTHORIZED, "존재하지 않는 사용자입니다.")))
+                    .flatMap(user -> passwordHasher.matches(request.getPassword(), user.password())
+                            .flatMap(matches -> {
+                                if (!matches) return loginFailed(username);
+                                Mono<Void> reset = attempts.failures() > 0 ? loginAttemptService.reset(username) : Mono.empty();
+                                return reset.then(issueTokens(user.username(), user.roles(), request.getDeviceId()));
+                            }));
+        });
+    }
+
+    private Mono<JwtTokenDto> loginFailed(String username) {
+        return loginAttemptService.recordFailure(username).flatMap(lockedUntil -> Mono.error(lockedUntil > 0
+                ? locked(lockedUntil)
+                : new ResponseStatusException(HttpStatus.UNAUTHORIZED, "비밀번호가 일치하지 않습니다.")));
+    }
+
+    // 기기 ID가 있으면 그 기기의 세션을 덮어쓰고, 없으면 새 세션 생성
+    private Mono<JwtTokenDto> issueTokens(String username, int roles, String deviceId) {
+        String sessionId = deviceId != null ? deviceId : UUID.randomUUID().toString();
+        String refreshToken = jwtService.createRefreshToken(username, sessionId);
+        return refreshTokenStore.save(username, sessionId, refreshToken)
+                .thenReturn(new JwtTokenDto(jwtService.createAccessToken(username, roles, sessionId), refreshToken));
+    }
+
+    /*
+        refresh 토큰으로 access 토큰과 refresh 토큰을 재발급
+        재발급 시점의 역할을 반영하기 위해 roles 컬럼만 조회 (BCrypt 비교 없음)
+     */
+    public Mono<JwtTokenDto> refresh(RefreshTokenDto request) {
+        VerifiedToken verified = jwtService.verifyRefreshToken(request.getRefreshToken());
+        if (verified == null || verified.sessionId() == null)
+            return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "유효하지 않은 refresh 토큰입니다."));
+
+        String username = verified.subject();
+        String sessionId = verified.sessionId();
+        String newRefreshToken = jwtService.createRefreshToken(username, sessionId);
+        return userRepository.findRoles(username)
+                .switchIfEmpty(Mono.error(() ->
+                        new ResponseStatusException(HttpStatus.UNAUTHORIZED, "유효하지 않은 refresh 토큰입니다.")))
+                .flatMap(roles -> refreshTokenStore.rotate(username, sessionId, request.getRefreshToken(), newRefreshToken)
+                        .flatMap(result -> switch (result) {
+                            case REUSED -> Mono.error(new ResponseStatusException(
+                                    HttpStatus.UNAUTHORIZED, "이미 사용된 refresh 토큰입니다. 다시 로그인해 주세요."));
+                            case NOT_FOUND -> Mono.error(new ResponseStatusException(
+                                    HttpStatus.UNAUTHORIZED, "만료되었거나 로그아웃된 refresh 토큰입니다."));
+                            case ROTATED -> Mono.just(new JwtTokenDto(
+                                    jwtService.createAccessToken(username, roles, sessionId), newRefreshToken));
+                        }));
+    }
+
+    // 로그인한 사용자의 세션(기기) 목록 조회, 목록과 전체 수를 동시에 요청
+    public Mono<SessionPageDto> sessions(VerifiedToken token, int page, int size) {
+        String username = token.subject();
+        return Mono.zip(
+                refreshTokenStore.findSessions(username, page, size)
+                        .map(session -> SessionDto.builder()
+                                .sessionId(session.sessionId())
+                                .issuedAt(session.issuedAt())
+                                .expiresAt(session.expiresAt())
+                                .build())
+                        .collectList(),
+                refreshTokenStore.countSessions(username)
+        ).map(result -> SessionPageDto.builder()
+                .sessions(result.getT1())
+                .total(result.getT2())
+                .page(page)
+                .size(size)
+                .build());
+    }
+
+    private static ResponseStatusException locked(long lockedUntil) {
+        long seconds = Math.max(1L, (lockedUntil - System.currentTimeMillis() + 999) / 1000);
+        return new ResponseStatusException(HttpStatus.LOCKED,
+                "로그인 실패가 반복되어 계정이 잠겼습니다. " + seconds + "초 후 다시 시도해 주세요.");
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.redisex.benchmark;
+
+import com.example.redisex.global.jwt.AuthMetrics;
+import com.example.redisex.global.jwt.JwtSigner;
+import com.example.redisex.global.jwt.JwtTokenProvider;
+import com.example.redisex.global.jwt.JwtTokenUtils;
+import com.example.redisex.global.jwt.VerifiedToken;
+import com.example.redisex.global.jwt.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    요청마다 실행되는 JWT 관련 경로 측정
+    redis/DB가 필요한 협력 객체는 사용하지 않는 경로만 측정하므로 null로 둠
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+    static final String SECRET = "aaaabbbsdifqbvaesoioegwaaaabbbsdifqbvaesoioegwaaaabbbsdifqbvaesasdfqve";
+
+    private JwtTokenUtils jwtTokenUtils;
+    private JwtTokenProvider uncachedProvider;
+    private JwtTokenProvider cachedProvider;
+
+    private String utilsToken;
+    private String providerToken;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        JwtSigner signer = new JwtSigner(SECRET, "HS256", "", "", "");
+        jwtTokenUtils = new JwtTokenUtils(signer);
+        utilsToken = jwtTokenUtils.createAccessToken("benchmark");
+
+        uncachedProvider = provider(signer, new VerifiedTokenCache(false, 0));
+        cachedProvider = provider(signer, new VerifiedTokenCache(true, 10_000));
+        Authentication authentication = new UsernamePasswordAuthenticationToken("benchmark", null);
+        providerToken = cachedProvider.createAccessToken(authentication, "session");
+        // 캐시 적중 경로를 측정하기 위해 미리 한 번 검증
+        cachedProvider.verify(providerToken);
+
+        request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + providerToken);
+    }
+
+    // jjwt 경로 기준선 (standard 토큰도 빠른 경로의 고정 헤더/클레임과 맞으므로 빠른 경로는 끔)
+    static JwtTokenProvider provider(JwtSigner signer, VerifiedTokenCache cache) {
+        return provider(signer, cache, "standard", false);
+    }
+
+    static JwtTokenProvider provider(JwtSigner signer, VerifiedTokenCache cache, String profile, boolean fastVerify) {
+        JwtTokenProvider provider = new JwtTokenProvider(
+                null, cache, null, new AuthMetrics(new SimpleMeterRegistry()), signer);
+        ReflectionTestUtils.setField(provider, "accessExpirationTime", 43_200_000L);
+        ReflectionTestUtils.setField(provider, "refreshExpirationTime", 604_800_000L);
+        ReflectionTestUtils.setField(provider, "tokenProfile", profile);
+        ReflectionTestUtils.setField(provider, "fastVerify", fastVerify);
+        return provider;
+    }
+
+    @Benchmark
+    public String utilsCreateAccessToken() {
+        return jwtTokenUtils.createAccessToken("benchmark");
+    }
+
+    @Benchmark
+    public Claims utilsParseClaims() {
+        return jwtTokenUtils.parseClaims(utilsToken);
+    }
+
+    // 캐시 없이 매번 서명 검증 + JSON 해석 (jjwt), 빠른 경로와의 비교는 TokenProfileBenchmark
+    @Benchmark
+    public boolean providerValidateToken() {
+        return uncachedProvider.validateToken(providerToken);
+    }
+
+    // 검증 캐시 적중 (SHA-256 해시 + 맵 조회)
+    @Benchmark
+    public VerifiedToken providerVerifyCached() {
+        return cachedProvider.verify(providerToken);
+    }
+
+    @Benchmark
+    public String resolveToken() {
+        return cachedProvider.resolveToken(request);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.redisex.benchmark;
+
+import com.example.redisex.global.jwt.JwtSigner;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+    서명 알고리즘별 서명/검증 비용 비교 (jwt.signing.algorithm 선택 참고)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SigningBenchmark {
+    @Param({"HS256", "ES256"})
+    private String algorithm;
+
+    private JwtSigner signer;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // ES256은 임시 키 쌍으로 측정
+        signer = new JwtSigner(JwtBenchmark.SECRET, algorithm, "", "", "");
+        token = sign();
+    }
+
+    @Benchmark
+    public String sign() {
+        Date now = new Date();
+        return signer.sign(Jwts.builder()
+                .setSubject("benchmark")
+                .claim("sid", "session")
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + 3_600_000L)));
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return signer.parser().parseClaimsJws(token).getBody();
+    }
+}
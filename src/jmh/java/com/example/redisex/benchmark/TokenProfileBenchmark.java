@@ -0,0 +1,58 @@
+package com.example.redisex.benchmark;
+
+import com.example.redisex.global.jwt.JwtSigner;
+import com.example.redisex.global.jwt.JwtTokenProvider;
+import com.example.redisex.global.jwt.VerifiedToken;
+import com.example.redisex.global.jwt.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    access 토큰 형식(jwt.token.profile)과 빠른 검증 경로(jwt.token.fast-verify) 비교
+    검증 캐시 없이 매번 서명 검증 + 클레임 해석 비용을 측정, 요청당 할당량은 gc 프로파일러 결과(gc.alloc.rate.norm)로 확인
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenProfileBenchmark {
+    @Param({"standard", "compact"})
+    private String profile;
+
+    @Param({"true", "false"})
+    private boolean fastVerify;
+
+    private JwtTokenProvider provider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtSigner signer = new JwtSigner(JwtBenchmark.SECRET, "HS256", "", "", "");
+        provider = JwtBenchmark.provider(signer, new VerifiedTokenCache(false, 0), profile, fastVerify);
+        authentication = new UsernamePasswordAuthenticationToken(
+                "benchmark", null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = provider.createAccessToken(authentication, "5b3a8e0c-7a51-4c1f-9d0e-2f64c1a9e7b3");
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return provider.createAccessToken(authentication, "5b3a8e0c-7a51-4c1f-9d0e-2f64c1a9e7b3");
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return provider.verify(token);
+    }
+}
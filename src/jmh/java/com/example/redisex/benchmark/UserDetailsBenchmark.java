@@ -0,0 +1,36 @@
+package com.example.redisex.benchmark;
+
+import com.example.redisex.user.dto.CustomUserDetails;
+import com.example.redisex.user.entity.UserEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserDetailsBenchmark {
+    private UserEntity entity;
+
+    @Setup
+    public void setUp() {
+        entity = UserEntity.builder()
+                .id(1L)
+                .username("benchmark")
+                .password("$2a$10$abcdefghijklmnopqrstuuJ0K3e7dI8sD9Cq5oQm6H2p1z0x9y8w7")
+                .email("benchmark@example.com")
+                .phone("010-1234-5678")
+                .build();
+    }
+
+    @Benchmark
+    public CustomUserDetails fromEntity() {
+        return CustomUserDetails.fromEntity(entity);
+    }
+}
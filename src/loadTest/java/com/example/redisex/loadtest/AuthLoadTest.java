@@ -0,0 +1,198 @@
+package com.example.redisex.loadtest;
+
+import com.example.redisex.user.entity.UserEntity;
+import com.example.redisex.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.TestSocketUtils;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    로그인과 인증이 필요한 요청의 처리량/지연 시간 측정
+    ./gradlew loadTest -Dloadtest.concurrency=64 -Dloadtest.requests=5000
+    - loadtest.concurrency : 동시 요청 수 (기본 32)
+    - loadtest.requests    : 시나리오별 측정 요청 수 (기본 2000)
+    - loadtest.warmup      : 시나리오별 워밍업 요청 수 (기본 500)
+    - loadtest.users       : 미리 만들어 둘 사용자 수 (기본 100)
+    - loadtest.tolerance   : 기준값 대비 허용 악화 비율 (기본 0.2)
+    - loadtest.baseline    : 기준값 파일 경로 (기본 classpath:loadtest-baseline.properties)
+    결과는 build/reports/loadtest/results.properties에 기록
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class AuthLoadTest {
+    private static final String PASSWORD = "loadtest1234!";
+
+    private static RedisServer redisServer;
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) throws IOException {
+        int redisPort = TestSocketUtils.findAvailableTcpPort();
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+        registry.add("spring.data.redis.host", () -> "localhost");
+        registry.add("spring.data.redis.port", () -> redisPort);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (redisServer != null) redisServer.stop();
+    }
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void loginAndAuthenticatedRequests() throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        int requests = Integer.getInteger("loadtest.requests", 2000);
+        int warmup = Integer.getInteger("loadtest.warmup", 500);
+        int users = Integer.getInteger("loadtest.users", 100);
+
+        // 모든 사용자가 같은 해시를 쓰도록 한 번만 인코딩
+        String encoded = passwordEncoder.encode(PASSWORD);
+        List<UserEntity> entities = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            entities.add(UserEntity.builder()
+                    .username(username(i))
+                    .password(encoded)
+                    .email(username(i) + "@example.com")
+                    .phone(String.format("010-%08d", i))
+                    .build());
+        }
+        userRepository.saveAll(entities);
+
+        LoadRunner runner = new LoadRunner(concurrency);
+        // 작업 스레드마다 기기 ID를 고정해서 같은 세션을 덮어쓰게 함
+        LoadResult login = runner.run("login", warmup, requests, 200,
+                (worker, seq) -> login(username(seq % users), "worker-" + worker).statusCode());
+
+        List<String> tokens = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            HttpResponse<String> response = login(username(i), "sessions");
+            assertThat(response.statusCode()).isEqualTo(200);
+            tokens.add(objectMapper.readTree(response.body()).get("accessToken").asText());
+        }
+        LoadResult sessions = runner.run("sessions", warmup, requests, 200,
+                (worker, seq) -> client.send(HttpRequest.newBuilder(uri("/users/sessions"))
+                                .header("Authorization", "Bearer " + tokens.get(seq % users))
+                                .GET()
+                                .build(), HttpResponse.BodyHandlers.discarding())
+                        .statusCode());
+
+        System.out.println(login);
+        System.out.println(sessions);
+        writeReport(concurrency, login, sessions);
+
+        Properties baseline = loadBaseline();
+        double tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.2"));
+        assertWithinBaseline(login, baseline, tolerance);
+        assertWithinBaseline(sessions, baseline, tolerance);
+    }
+
+    private HttpResponse<String> login(String username, String deviceId) throws Exception {
+        String body = objectMapper.writeValueAsString(
+                Map.of("username", username, "password", PASSWORD, "deviceId", deviceId));
+        return client.send(HttpRequest.newBuilder(uri("/users/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String username(int i) {
+        return "loadtest-" + i;
+    }
+
+    private static void assertWithinBaseline(LoadResult result, Properties baseline, double tolerance) {
+        assertThat(result.getErrors()).as("%s errors", result.getName()).isZero();
+
+        String p99 = baseline.getProperty(result.getName() + ".p99.ms");
+        if (p99 != null)
+            assertThat(result.percentileMillis(0.99))
+                    .as("%s p99 (baseline %s ms)", result.getName(), p99)
+                    .isLessThanOrEqualTo(Double.parseDouble(p99) * (1 + tolerance));
+
+        String throughput = baseline.getProperty(result.getName() + ".throughput.min");
+        if (throughput != null)
+            assertThat(result.throughput())
+                    .as("%s throughput (baseline %s/s)", result.getName(), throughput)
+                    .isGreaterThanOrEqualTo(Double.parseDouble(throughput) * (1 - tolerance));
+    }
+
+    private static Properties loadBaseline() throws IOException {
+        Properties baseline = new Properties();
+        String path = System.getProperty("loadtest.baseline");
+        try (InputStream input = path == null
+                ? new ClassPathResource("loadtest-baseline.properties").getInputStream()
+                : Files.newInputStream(Path.of(path))) {
+            baseline.load(input);
+        }
+        return baseline;
+    }
+
+    private static void writeReport(int concurrency, LoadResult... results) throws IOException {
+        Properties report = new Properties();
+        report.setProperty("concurrency", String.valueOf(concurrency));
+        report.setProperty("virtual-threads", System.getProperty("app.threads.virtual", "false"));
+        for (LoadResult result : results) {
+            String name = result.getName();
+            report.setProperty(name + ".requests", String.valueOf(result.getRequests()));
+            report.setProperty(name + ".errors", String.valueOf(result.getErrors()));
+            report.setProperty(name + ".throughput", format(result.throughput()));
+            report.setProperty(name + ".p50.ms", format(result.percentileMillis(0.50)));
+            report.setProperty(name + ".p99.ms", format(result.percentileMillis(0.99)));
+            report.setProperty(name + ".p999.ms", format(result.percentileMillis(0.999)));
+        }
+        Path dir = Path.of("build", "reports", "loadtest");
+        Files.createDirectories(dir);
+        try (OutputStream output = Files.newOutputStream(dir.resolve("results.properties"))) {
+            report.store(output, "auth load test");
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.redisex.loadtest;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/*
+    시나리오 하나의 측정 결과
+    latencies는 요청별 응답 시간(ns)
+ */
+public class LoadResult {
+    private final String name;
+    private final long[] latencies;
+    private final int errors;
+    private final long elapsedNanos;
+
+    public LoadResult(String name, long[] latencies, int errors, long elapsedNanos) {
+        this.name = name;
+        this.latencies = latencies.clone();
+        Arrays.sort(this.latencies);
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getRequests() {
+        return latencies.length;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    // 백분위 응답 시간(ms), p = 0.99 -> p99
+    public double percentileMillis(double p) {
+        if (latencies.length == 0) return 0.0;
+        int index = (int) Math.ceil(p * latencies.length) - 1;
+        return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1_000_000.0;
+    }
+
+    // 초당 처리 요청 수
+    public double throughput() {
+        return latencies.length / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%-10s requests=%d errors=%d throughput=%.1f/s p50=%.2fms p99=%.2fms p999=%.2fms",
+                name, getRequests(), errors, throughput(),
+                percentileMillis(0.50), percentileMillis(0.99), percentileMillis(0.999));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.redisex.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    고정된 수의 작업 스레드로 요청을 최대한 빠르게 보내는 부하 생성기 (closed-loop)
+    각 요청은 고유 번호(seq)를 받고, 응답 시간은 그 번호 위치에 기록하므로 스레드 간 잠금이 없음
+ */
+public class LoadRunner {
+    @FunctionalInterface
+    public interface Request {
+        // HTTP 상태 코드 반환
+        int send(int worker, int seq) throws Exception;
+    }
+
+    private final int concurrency;
+
+    public LoadRunner(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public LoadResult run(String name, int warmup, int requests, int expectedStatus, Request request)
+            throws Exception {
+        // 워밍업 (JIT, 커넥션 풀, 캐시), 결과는 버림
+        execute(warmup, new long[warmup], new AtomicInteger(), expectedStatus, request);
+
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        execute(requests, latencies, errors, expectedStatus, request);
+        return new LoadResult(name, latencies, errors.get(), System.nanoTime() - start);
+    }
+
+    private void execute(int requests, long[] latencies, AtomicInteger errors, int expectedStatus, Request request)
+            throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> workers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                int worker = i;
+                workers.add(executor.submit(() -> {
+                    int seq;
+                    while ((seq = next.getAndIncrement()) < requests) {
+                        long begin = System.nanoTime();
+                        int status;
+                        try {
+                            status = request.send(worker, seq);
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        latencies[seq] = System.nanoTime() - begin;
+                        if (status != expectedStatus) errors.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : workers) future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package com.example.redisex.config;
 
+import com.example.redisex.global.jwt.AuthMetrics;
 import com.example.redisex.global.jwt.JwtTokenFilter;
 import com.example.redisex.global.jwt.JwtTokenProvider;
-import com.example.redisex.global.jwt.JwtTokenUtils;
+import com.example.redisex.global.jwt.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.config.annotation.SecurityConfigurerAdapter;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -16,11 +17,12 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class JwtSecurityConfig extends SecurityConfigurerAdapter<
         DefaultSecurityFilterChain, HttpSecurity> {
     private final JwtTokenProvider jwtTokenProvider;
-    private final JwtTokenUtils jwtTokenUtils;
+    private final TokenRevocationService tokenRevocationService;
+    private final AuthMetrics authMetrics;
 
     @Override
     public void configure(HttpSecurity http) throws Exception {
-        JwtTokenFilter customFilter = new JwtTokenFilter(jwtTokenUtils,jwtTokenProvider);
+        JwtTokenFilter customFilter = new JwtTokenFilter(jwtTokenProvider, tokenRevocationService, authMetrics);
         http.addFilterBefore(customFilter, UsernamePasswordAuthenticationFilter.class);
     }
 }
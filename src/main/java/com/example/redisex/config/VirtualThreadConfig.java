@@ -0,0 +1,62 @@
+package com.example.redisex.config;
+
+import com.example.redisex.global.jdbc.ConcurrencyLimitedDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+    app.threads.virtual=true일 때 요청 처리를 Java 21 가상 스레드로 전환
+    - 톰캣 요청마다 가상 스레드 하나를 사용 (플랫폼 스레드 풀 크기 제한이 사라짐)
+    - 대신 DB 연결 수보다 많은 스레드가 동시에 JDBC를 호출하지 않도록 DataSource를 세마포어로 감쌈
+    redis는 shared 모드에서 하나의 멀티플렉싱 연결을 쓰므로 스레드 수와 무관하고,
+    pooled 모드는 spring.data.redis.lettuce.pool.max-wait로 대기 시간이 제한됨
+    BCrypt는 CPU 작업이라 PasswordHashingExecutor의 플랫폼 스레드 풀에 그대로 둠
+    소스는 Java 17로 컴파일되므로 가상 스레드 API는 리플렉션으로 호출
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("Tomcat requests will run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    // static : 다른 Bean보다 먼저 등록되어야 DataSource 생성 시점에 적용됨
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource)
+                    return bean;
+                int permits = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                long timeout = environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L);
+                return new ConcurrencyLimitedDataSource(dataSource, permits, timeout);
+            }
+        };
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("app.threads.virtual 모드는 Java 21 이상에서만 사용할 수 있습니다.", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.example.redisex.config;
 
+import com.example.redisex.global.jwt.AuthMetrics;
 import com.example.redisex.global.jwt.JwtTokenFilter;
 import com.example.redisex.global.jwt.JwtTokenProvider;
-import com.example.redisex.global.jwt.JwtTokenUtils;
+import com.example.redisex.global.jwt.TokenRevocationService;
+import com.example.redisex.global.ratelimit.LoginRateLimitFilter;
+import com.example.redisex.user.entity.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -13,38 +20,100 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 public class WebSecurityConfig {
     private final JwtTokenFilter jwtTokenFilter;
-    private JwtTokenProvider jwtTokenProvider;
-    private final JwtTokenUtils jwtTokenUtils;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginRateLimitFilter loginRateLimitFilter;
+    private final AuthMetrics authMetrics;
 
-    public WebSecurityConfig(JwtTokenFilter jwtTokenFilter, JwtTokenProvider jwtTokenProvider, JwtTokenUtils jwtTokenUtils) {
+    // true면 JwtTokenFilter를 SecurityFilterChain에 한 번만 등록
+    // false면 서블릿 필터 자동 등록 + JwtSecurityConfig 등록까지 기존 방식 그대로 유지
+    @Value("${jwt.filter.dedupe:true}")
+    private boolean dedupeJwtFilter;
+
+    // BCrypt 작업 비용(log2 반복 횟수), 바꾸면 기존 사용자는 다음 로그인 때 재해시됨
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    /*
+        actuator를 별도 포트(management.server.port)로 띄우면 그 포트로 들어온 /actuator/prometheus는 토큰 없이 허용
+        Prometheus가 ADMIN 토큰을 들고 다니지 않도록 하기 위함이며, 이 포트는 내부망(수집기)에서만 열어야 함
+        별도 포트가 없으면(같은 포트) 지금처럼 ADMIN만 허용
+     */
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    public WebSecurityConfig(JwtTokenFilter jwtTokenFilter, JwtTokenProvider jwtTokenProvider, TokenRevocationService tokenRevocationService, LoginRateLimitFilter loginRateLimitFilter, AuthMetrics authMetrics) {
         this.jwtTokenFilter = jwtTokenFilter;
         this.jwtTokenProvider = jwtTokenProvider;
-        this.jwtTokenUtils = jwtTokenUtils;
+        this.tokenRevocationService = tokenRevocationService;
+        this.loginRateLimitFilter = loginRateLimitFilter;
+        this.authMetrics = authMetrics;
     }
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
+                // 권한은 access 토큰의 rl 클레임으로만 판단하므로 요청마다 DB/redis 조회 없음
                 .authorizeHttpRequests(authHttpRequest -> authHttpRequest
-                        .anyRequest()
-                        .permitAll())
+                        .requestMatchers(HttpMethod.POST, "/users/login", "/users/refresh", "/users/signup").permitAll()
+                        .requestMatchers("/.well-known/jwks.json", "/actuator/health", "/error").permitAll()
+                        .requestMatchers(onManagementPort(managementPort, serverPort, "/actuator/prometheus")).permitAll()
+                        .requestMatchers("/actuator/**").hasRole(Role.ADMIN.name())
+                        .requestMatchers("/users/import").hasRole(Role.ADMIN.name())
+                        .requestMatchers(HttpMethod.POST, "/jwt-keys/rotate").hasRole(Role.ADMIN.name())
+                        .requestMatchers(HttpMethod.POST, "/tokens/introspect").hasRole(Role.GATEWAY.name())
+                        .requestMatchers("/users/**").hasRole(Role.USER.name())
+                        .anyRequest().authenticated())
                 .sessionManagement(sessionManagement -> sessionManagement
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(jwtTokenFilter, UsernamePasswordAuthenticationFilter.class);
+                // 로그인 페이지로 보내지 않고 401, 권한이 없으면 403
+                .exceptionHandling(exceptionHandling -> exceptionHandling
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterBefore(jwtTokenFilter, UsernamePasswordAuthenticationFilter.class)
+                // 로그인 요청 제한은 jwt 검증보다 먼저 실행
+                .addFilterBefore(loginRateLimitFilter, JwtTokenFilter.class);
         // jwt 적용
-        http.apply(new JwtSecurityConfig(jwtTokenProvider,jwtTokenUtils));
+        if (!dedupeJwtFilter)
+            http.apply(new JwtSecurityConfig(jwtTokenProvider, tokenRevocationService, authMetrics));
         return http.build();
     }
 
+    // management 포트로 들어온 path 요청만 일치, management 포트가 없거나 서비스 포트와 같으면 항상 불일치
+    static RequestMatcher onManagementPort(int managementPort, int serverPort, String path) {
+        if (managementPort <= 0 || managementPort == serverPort) return request -> false;
+        return request -> request.getLocalPort() == managementPort && path.equals(request.getRequestURI());
+    }
+
+    // @Component인 필터는 Spring Boot가 서블릿 필터로도 자동 등록하므로
+    // 중복 제거 모드에서는 자동 등록을 끄고 SecurityFilterChain에서만 실행
+    @Bean
+    public FilterRegistrationBean<JwtTokenFilter> jwtTokenFilterRegistration() {
+        FilterRegistrationBean<JwtTokenFilter> registration = new FilterRegistrationBean<>(jwtTokenFilter);
+        registration.setEnabled(!dedupeJwtFilter);
+        return registration;
+    }
+
+    // 요청 제한 필터는 SecurityFilterChain 안에서만 실행
+    @Bean
+    public FilterRegistrationBean<LoginRateLimitFilter> loginRateLimitFilterRegistration() {
+        FilterRegistrationBean<LoginRateLimitFilter> registration = new FilterRegistrationBean<>(loginRateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     // AuthenticationManager를 설정하고 반환하는 역할
@@ -0,0 +1,125 @@
+package com.example.redisex.global.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/*
+    크기 제한과 항목별 만료 시각을 함께 가지는 프로세스 내 캐시
+    요청마다 거치는 경로에서 쓰이므로 조회/저장에 전역 잠금을 두지 않음 (ConcurrentHashMap)
+    - 조회 시 항목의 마지막 사용 시각만 갱신 (같은 밀리초면 쓰지 않음)
+    - 크기가 maxSize를 넘으면 한 스레드만 정리를 맡아 만료 항목을 지우고,
+      그래도 maxSize의 90%보다 많으면 가장 오래 사용되지 않은 항목부터 90%까지 제거 (근사 LRU)
+    정리는 maxSize의 10%만큼 저장이 쌓일 때마다 한 번 돌므로 저장 한 번당 비용은 상수에 가까움
+    정리 중에는 잠시 maxSize를 넘을 수 있음
+ */
+public class LocalTtlCache<K, V> {
+    // 크기 초과 또는 만료로 제거된 항목 수 (캐시 크기 조정용 지표)
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder sweeps = new LongAdder();
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final int maxSize;
+    // 정리 후 목표 크기
+    private final int sweepTarget;
+    private final LongSupplier clock;
+
+    public LocalTtlCache(int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    // 테스트에서 시각을 고정하기 위한 생성자
+    LocalTtlCache(int maxSize, LongSupplier clock) {
+        this.maxSize = Math.max(1, maxSize);
+        this.sweepTarget = Math.max(1, this.maxSize - this.maxSize / 10);
+        this.clock = clock;
+    }
+
+    // 만료되지 않은 값이 있으면 반환, 없거나 만료되었으면 null
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return null;
+        long now = clock.getAsLong();
+        if (entry.expiresAt <= now) {
+            if (entries.remove(key, entry)) evictions.increment();
+            return null;
+        }
+        if (entry.lastAccess != now) entry.lastAccess = now;
+        return entry.value;
+    }
+
+    // expiresAt(epoch millis)까지만 유효한 값으로 저장
+    public void put(K key, V value, long expiresAt) {
+        long now = clock.getAsLong();
+        if (expiresAt <= now) return;
+        entries.put(key, new Entry<>(value, expiresAt, now));
+        if (entries.size() > maxSize) sweep(now);
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    long sweepCount() {
+        return sweeps.sum();
+    }
+
+    // 다른 스레드가 정리 중이면 바로 반환
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) return;
+        try {
+            sweeps.increment();
+            List<Candidate<K, V>> alive = new ArrayList<>(entries.size());
+            for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+                Entry<V> entry = e.getValue();
+                if (entry.expiresAt <= now) {
+                    if (entries.remove(e.getKey(), entry)) evictions.increment();
+                } else {
+                    // 정렬 중에 값이 바뀌지 않도록 마지막 사용 시각을 복사해 둠
+                    alive.add(new Candidate<>(e.getKey(), entry, entry.lastAccess));
+                }
+            }
+            // 만료로 자리가 생겼더라도 목표 크기까지 줄여 두어야 다음 정리까지 저장이 쌓일 여유가 생김
+            if (entries.size() <= sweepTarget) return;
+            alive.sort(Comparator.comparingLong(Candidate::lastAccess));
+            for (int i = 0; i < alive.size() && entries.size() > sweepTarget; i++) {
+                Candidate<K, V> candidate = alive.get(i);
+                if (entries.remove(candidate.key(), candidate.entry())) evictions.increment();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private record Candidate<K, V>(K key, Entry<V> entry, long lastAccess) {
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+        private volatile long lastAccess;
+
+        private Entry(V value, long expiresAt, long lastAccess) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.redisex.global.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/*
+    애플리케이션에서 만드는 64비트 ID (snowflake 방식)
+    | 41비트 : EPOCH 이후 경과 ms | 10비트 : 노드 ID | 12비트 : 같은 ms 안의 순번 |
+    DB에 insert 하기 전에 ID를 알 수 있어 Hibernate/JDBC 배치 insert가 가능하고, 시간 순으로 정렬됨
+    노드마다 app.id.node-id를 다르게 설정해야 함
+    설정하지 않으면 개발용으로 무작위 값을 쓰고, app.id.require-node-id=true(prod)면 시작을 실패시킴
+ */
+@Slf4j
+@Component
+public class SnowflakeIdGenerator {
+    // 2024-01-01T00:00:00Z
+    private static final long EPOCH = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    private long lastTimestamp = -1L;
+    private long sequence;
+
+    @Autowired
+    public SnowflakeIdGenerator(
+            @Value("${app.id.node-id:-1}") long nodeId,
+            @Value("${app.id.require-node-id:false}") boolean requireNodeId
+    ) {
+        this(nodeId, requireNodeId, System::currentTimeMillis);
+    }
+
+    // 테스트에서 시계를 바꿔 넣기 위한 생성자
+    SnowflakeIdGenerator(long nodeId, boolean requireNodeId, LongSupplier clock) {
+        if (nodeId > MAX_NODE_ID || nodeId < -1 || (nodeId == -1 && requireNodeId)) {
+            // 노드 ID가 겹치면 서로 다른 노드가 같은 ID를 만들 수 있으므로 운영에서는 추측하지 않음
+            throw new IllegalStateException("app.id.node-id must be between 0 and " + MAX_NODE_ID + " (APP_NODE_ID), got " + nodeId);
+        }
+        if (nodeId == -1) {
+            nodeId = ThreadLocalRandom.current().nextLong(MAX_NODE_ID + 1);
+            log.warn("app.id.node-id is not set, using random node id {}", nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    /*
+        시계가 뒤로 가거나 같은 ms 안의 순번을 다 쓰면 마지막 시각을 1ms씩 앞당겨 사용
+        대기(spin) 없이 항상 이전 값보다 큰 ID를 반환
+     */
+    public synchronized long nextId() {
+        long now = clock.getAsLong();
+        if (now > lastTimestamp) {
+            lastTimestamp = now;
+            sequence = 0L;
+        } else {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0L) lastTimestamp++;
+        }
+        return ((lastTimestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS))
+                | (nodeId << SEQUENCE_BITS)
+                | sequence;
+    }
+}
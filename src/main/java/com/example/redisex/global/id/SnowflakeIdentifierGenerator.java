@@ -0,0 +1,46 @@
+package com.example.redisex.global.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.resource.beans.spi.ManagedBeanRegistry;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/*
+    엔티티 ID를 SnowflakeIdGenerator로 생성하는 Hibernate 생성기
+    @GenericGenerator(type = SnowflakeIdentifierGenerator.class)로 사용
+    Hibernate가 직접 만드는 객체라 주입을 받을 수 없으므로, 설정 시점에 Hibernate의 빈 컨테이너
+    (Spring Boot가 등록하는 SpringBeanContainer)로 Source를 만들어 SnowflakeIdGenerator 빈을 주입받음
+    SpringBeanContainer는 요청한 타입을 새로 생성(createBean)하므로 SnowflakeIdGenerator를 직접 요청하면
+    순번을 따로 가지는 두 번째 생성기가 생김 -> Source를 거쳐 싱글턴 빈을 받음 (UserBatchRepository와 같은 객체)
+    정적 싱글턴을 쓰지 않으므로 한 JVM에 컨텍스트가 여러 개여도(테스트 등) 각자 자기 노드 ID를 사용
+ */
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+    private SnowflakeIdGenerator idGenerator;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        ManagedBeanRegistry beanRegistry = serviceRegistry.requireService(ManagedBeanRegistry.class);
+        // 빈 컨테이너가 없으면 기본 생성자로 새 객체를 만들려 하므로 노드 ID 설정이 무시됨
+        if (beanRegistry.getBeanContainer() == null)
+            throw new MappingException("SnowflakeIdentifierGenerator requires a bean container (hibernate.resource.beans.container)");
+        this.idGenerator = beanRegistry.getBean(Source.class).getBeanInstance().idGenerator;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return idGenerator.nextId();
+    }
+
+    // 빈 컨테이너가 생성자 주입으로 만드는 전달용 객체
+    static final class Source {
+        private final SnowflakeIdGenerator idGenerator;
+
+        Source(SnowflakeIdGenerator idGenerator) {
+            this.idGenerator = idGenerator;
+        }
+    }
+}
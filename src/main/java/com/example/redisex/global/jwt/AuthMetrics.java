@@ -0,0 +1,97 @@
+package com.example.redisex.global.jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+    요청마다 실행되는 인증 경로의 지표
+    - auth.token.resolve          : Authorization 헤더에서 토큰 추출
+    - auth.token.verify{cache}    : 토큰 검증 전체 (cache=hit|miss)
+    - auth.token.parse            : 서명 검증 + JSON 해석 (캐시 미스일 때만)
+    - auth.token.failures{reason} : 검증 실패 원인별 횟수
+    미터는 생성 시 한 번만 등록해 두고 요청 경로에서는 조회 없이 기록만 함
+    BCrypt 비교는 password.hash.duration, findByUsername은 spring.data.repository.invocations,
+    redis 명령 지연은 lettuce.command.* 지표로 이미 노출됨
+ */
+@Component
+public class AuthMetrics {
+    public enum FailureReason {
+        EXPIRED("expired"),
+        MALFORMED("malformed"),
+        SIGNATURE("signature"),
+        UNSUPPORTED("unsupported"),
+        ILLEGAL_ARGUMENT("illegal-argument"),
+        // access 토큰 자리에 refresh 토큰 사용 (또는 그 반대)
+        WRONG_TYPE("wrong-type"),
+        REVOKED("revoked");
+
+        private final String tag;
+
+        FailureReason(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    private final Timer resolveTimer;
+    private final Timer verifyHitTimer;
+    private final Timer verifyMissTimer;
+    private final Timer parseTimer;
+    private final Map<FailureReason, Counter> failures = new EnumMap<>(FailureReason.class);
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.resolveTimer = Timer.builder("auth.token.resolve")
+                .description("Authorization 헤더에서 토큰 추출")
+                .register(meterRegistry);
+        this.verifyHitTimer = verifyTimer(meterRegistry, "hit");
+        this.verifyMissTimer = verifyTimer(meterRegistry, "miss");
+        this.parseTimer = Timer.builder("auth.token.parse")
+                .description("JWT 서명 검증 및 클레임 해석")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        for (FailureReason reason : FailureReason.values()) {
+            failures.put(reason, Counter.builder("auth.token.failures")
+                    .description("JWT 검증 실패 횟수")
+                    .tag("reason", reason.tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String cache) {
+        return Timer.builder("auth.token.verify")
+                .description("JWT 검증 (검증 캐시 포함)")
+                .tag("cache", cache)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // 측정 시작 시각, record*의 인자로 전달
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void recordResolve(long start) {
+        resolveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordVerify(long start, boolean cacheHit) {
+        (cacheHit ? verifyHitTimer : verifyMissTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordParse(long start) {
+        parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFailure(FailureReason reason) {
+        failures.get(reason).increment();
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.redisex.global.jwt;
+
+import com.example.redisex.user.entity.Role;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/*
+    compact 토큰 프로필의 페이로드 작성/해석 (jwt.token.profile=compact)
+    - 클레임은 sub, sid, rl, jti, iat, iat_ms, exp 고정 집합만 사용하고 시각은 정수(초, iat_ms만 밀리초)로 기록
+    - jti는 UUID 문자열(36자) 대신 16바이트 난수(base64url 22자)
+    - 해석은 Jackson으로 Map을 만들지 않고 고정 클레임만 바이트 단위로 바로 읽음
+    고정 집합을 벗어난 모양(다른 클레임, 이스케이프된 문자열, 소수 등)이면 null을 반환하여 jjwt로 다시 해석하게 함
+    결과 토큰은 표준 JWS이므로 jjwt나 다른 라이브러리로도 그대로 검증할 수 있음
+ */
+final class CompactJwt {
+    static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // 이미 읽은 클레임 표시 (같은 클레임이 두 번 나오면 jjwt로 넘김)
+    private static final int SUB = 1;
+    private static final int SID = 1 << 1;
+    private static final int RL = 1 << 2;
+    private static final int JTI = 1 << 3;
+    private static final int IAT = 1 << 4;
+    private static final int EXP = 1 << 5;
+    private static final int IAT_MS = 1 << 6;
+
+    private CompactJwt() {
+    }
+
+    static String newId() {
+        byte[] id = new byte[16];
+        RANDOM.nextBytes(id);
+        return ENCODER.encodeToString(id);
+    }
+
+    // null인 문자열 클레임은 넣지 않음, 시각은 밀리초로 받아 iat/exp는 초로 잘라 기록
+    static byte[] payload(String subject, String sessionId, int roles, String id, long issuedAtMillis, long expiresAtMillis) {
+        StringBuilder json = new StringBuilder(128).append('{');
+        if (subject != null) appendString(json.append("\"sub\":"), subject).append(',');
+        if (sessionId != null) appendString(json.append("\"sid\":"), sessionId).append(',');
+        json.append("\"rl\":").append(roles).append(',');
+        appendString(json.append("\"jti\":"), id);
+        json.append(",\"iat\":").append(issuedAtMillis / 1000);
+        json.append(",\"iat_ms\":").append(issuedAtMillis);
+        json.append(",\"exp\":").append(expiresAtMillis / 1000);
+        return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static StringBuilder appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"');
+    }
+
+    // json[0, length)를 고정 클레임 집합으로 해석, 처리할 수 없는 모양이면 null
+    static VerifiedToken readPayload(byte[] json, int length) {
+        return new Reader(json, length).read();
+    }
+
+    private static final class Reader {
+        private final byte[] json;
+        private final int end;
+        private int pos;
+
+        private int seen;
+        private String subject;
+        private String sessionId;
+        private String id;
+        private long roles;
+        private long issuedAt;
+        private long issuedAtMillis;
+        private long expiresAt;
+
+        private Reader(byte[] json, int length) {
+            this.json = json;
+            this.end = length;
+        }
+
+        private VerifiedToken read() {
+            if (!expect('{')) return null;
+            if (!peek('}')) {
+                do {
+                    if (!member()) return null;
+                } while (expect(','));
+            }
+            if (!expect('}')) return null;
+            skipWhitespace();
+            if (pos != end) return null;
+            if ((seen & RL) != 0 && (roles < 0 || roles > Integer.MAX_VALUE)) return null;
+            return VerifiedToken.builder()
+                    .subject(subject)
+                    .id(id)
+                    .sessionId(sessionId)
+                    .issuedAt((seen & IAT_MS) != 0 ? issuedAtMillis : issuedAt * 1000L)
+                    .expiresAt(expiresAt * 1000L)
+                    .roles((seen & RL) != 0 ? (int) roles : Role.DEFAULT)
+                    .build();
+        }
+
+        // "이름":값 하나를 읽음
+        private boolean member() {
+            skipWhitespace();
+            int start = stringStart();
+            if (start < 0) return false;
+            int claim = claim(start, pos - 1 - start);
+            if (claim == 0 || (seen & claim) != 0 || !expect(':')) return false;
+            seen |= claim;
+            skipWhitespace();
+            switch (claim) {
+                case SUB, SID, JTI -> {
+                    int valueStart = stringStart();
+                    if (valueStart < 0) return false;
+                    String value = new String(json, valueStart, pos - 1 - valueStart, StandardCharsets.UTF_8);
+                    if (claim == SUB) subject = value;
+                    else if (claim == SID) sessionId = value;
+                    else id = value;
+                }
+                default -> {
+                    long value = number();
+                    if (value < 0) return false;
+                    if (claim == RL) roles = value;
+                    else if (claim == IAT) issuedAt = value;
+                    else if (claim == IAT_MS) issuedAtMillis = value;
+                    else expiresAt = value;
+                }
+            }
+            return true;
+        }
+
+        /*
+            따옴표로 감싼 문자열을 건너뛰고 내용의 시작 위치를 반환 (pos는 닫는 따옴표 다음)
+            이스케이프나 제어 문자가 있으면 -1 (jjwt로 처리)
+         */
+        private int stringStart() {
+            if (pos >= end || json[pos] != '"') return -1;
+            int start = ++pos;
+            while (pos < end) {
+                byte b = json[pos++];
+                if (b == '"') return start;
+                if (b == '\\' || (b >= 0 && b < 0x20)) return -1;
+            }
+            return -1;
+        }
+
+        // 이름 바이트를 클레임 표시로 변환, 모르는 이름이면 0
+        private int claim(int start, int length) {
+            if (length == 6) {
+                return json[start] == 'i' && json[start + 1] == 'a' && json[start + 2] == 't' && json[start + 3] == '_'
+                        && json[start + 4] == 'm' && json[start + 5] == 's' ? IAT_MS : 0;
+            }
+            if (length == 2) return json[start] == 'r' && json[start + 1] == 'l' ? RL : 0;
+            if (length != 3) return 0;
+            byte a = json[start], b = json[start + 1], c = json[start + 2];
+            if (a == 's' && b == 'u' && c == 'b') return SUB;
+            if (a == 's' && b == 'i' && c == 'd') return SID;
+            if (a == 'j' && b == 't' && c == 'i') return JTI;
+            if (a == 'i' && b == 'a' && c == 't') return IAT;
+            if (a == 'e' && b == 'x' && c == 'p') return EXP;
+            return 0;
+        }
+
+        // 0 이상 정수만 허용 (18자리까지), 그 외에는 -1
+        private long number() {
+            int start = pos;
+            long value = 0;
+            while (pos < end && json[pos] >= '0' && json[pos] <= '9') {
+                if (pos - start == 18) return -1;
+                value = value * 10 + (json[pos++] - '0');
+            }
+            if (pos == start) return -1;
+            if (pos < end && (json[pos] == '.' || json[pos] == 'e' || json[pos] == 'E')) return -1;
+            return value;
+        }
+
+        private boolean expect(char c) {
+            skipWhitespace();
+            if (pos < end && json[pos] == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean peek(char c) {
+            skipWhitespace();
+            return pos < end && json[pos] == c;
+        }
+
+        private void skipWhitespace() {
+            while (pos < end && (json[pos] == ' ' || json[pos] == '\t' || json[pos] == '\n' || json[pos] == '\r')) pos++;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.redisex.global.jwt;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+    토큰 검증용 공개 키 목록 (RFC 7517)
+    다른 서비스는 이 문서를 캐시해 두고 kid로 키를 찾아 토큰을 직접 검증
+    키 교체 직후에는 캐시에 없는 kid가 올 수 있으므로, 모르는 kid를 만나면 문서를 다시 받아야 함
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+    private final JwtSigner jwtSigner;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .eTag(jwtSigner.getJwksVersion())
+                .body(jwtSigner.jwks());
+    }
+}
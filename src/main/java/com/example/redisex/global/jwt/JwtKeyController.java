@@ -0,0 +1,23 @@
+package com.example.redisex.global.jwt;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/*
+    서명 키 수동 교체 API (ADMIN 역할 필요)
+    키 유출이 의심되는 경우 rotation-interval을 기다리지 않고 바로 새 키로 교체
+    이전 키는 자동 교체와 같이 가장 긴 토큰 수명 동안 검증에만 쓰임
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwtKeyController {
+    private final JwtKeyringService jwtKeyringService;
+
+    @PostMapping("/jwt-keys/rotate")
+    public Map<String, String> rotate() {
+        return Map.of("kid", jwtKeyringService.rotateNow());
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.redisex.global.jwt;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/*
+    특정 시점의 서명 키 묶음 (변경 불가)
+    - active : 새 토큰 서명에 쓰는 키
+    - 그 외  : 이전에 서명한 토큰이 만료될 때까지 검증에만 쓰는 키 (retiring)
+    키가 바뀌면 새 JwtKeyring을 만들어 통째로 교체하므로 검증 경로에서는 잠금 없이 kid로 바로 조회
+    HS256 키는 헤더 세그먼트(base64url) 문자열로도 찾을 수 있게 두어, 빠른 검증 경로에서 헤더 JSON을 해석하지 않음
+ */
+final class JwtKeyring {
+    record SigningKey(String kid, JwtSigner.Algorithm algorithm, Key signingKey, Key verificationKey) {
+    }
+
+    private final SigningKey active;
+    private final Map<String, Key> verificationKeys;
+    private final Map<String, Object> jwks;
+    private final String version;
+    // HS256 헤더 세그먼트 -> 검증 키
+    private final Map<String, Key> hmacHeaders;
+    // compact 프로필 토큰의 헤더 세그먼트, 활성 키가 HS256이 아니면 null
+    private final String compactHeader;
+    // kid가 없는 토큰을 검증할 키, 설정 파일의 키를 퇴역시킨 뒤에는 null
+    private final Key legacyKey;
+
+    /*
+        bootstrap : 설정 파일의 키, kid가 없는 토큰은 이 키로 검증하므로
+        이 키로 서명하는 compact 토큰은 헤더에서 kid를 생략함
+        null이면 설정 파일의 키를 퇴역시킨 것으로, kid가 없는 토큰은 모두 거절
+     */
+    JwtKeyring(SigningKey active, List<SigningKey> retiring, SigningKey bootstrap) {
+        this.active = active;
+        this.legacyKey = bootstrap == null ? null : bootstrap.verificationKey();
+        Map<String, Key> keys = new HashMap<>();
+        Map<String, Key> headers = new HashMap<>();
+        List<Map<String, Object>> publicKeys = new ArrayList<>();
+        List<SigningKey> all = new ArrayList<>(retiring);
+        all.add(0, active);
+        for (SigningKey key : all) {
+            if (keys.putIfAbsent(key.kid(), key.verificationKey()) != null) continue;
+            if (key.algorithm() == JwtSigner.Algorithm.HS256) {
+                // compact 헤더(alg, kid 순서)와 jjwt가 만드는 헤더(kid, alg 순서) 모두 등록
+                headers.putIfAbsent(header("alg", "HS256", "kid", key.kid()), key.verificationKey());
+                headers.putIfAbsent(header("kid", key.kid(), "alg", "HS256"), key.verificationKey());
+                if (key.equals(bootstrap)) headers.putIfAbsent(header("alg", "HS256"), key.verificationKey());
+            }
+            // 대칭 키는 절대 공개하지 않음
+            if (key.verificationKey() instanceof ECPublicKey publicKey)
+                publicKeys.add(toJwk(publicKey, key.kid()));
+        }
+        this.verificationKeys = Map.copyOf(keys);
+        this.jwks = Map.of("keys", List.copyOf(publicKeys));
+        this.version = Integer.toHexString(new TreeSet<>(keys.keySet()).toString().hashCode());
+        this.hmacHeaders = Map.copyOf(headers);
+        if (active.algorithm() != JwtSigner.Algorithm.HS256)
+            this.compactHeader = null;
+        else if (active.equals(bootstrap))
+            this.compactHeader = header("alg", "HS256");
+        else
+            this.compactHeader = header("alg", "HS256", "kid", active.kid());
+    }
+
+    SigningKey active() {
+        return active;
+    }
+
+    Key verificationKey(String kid) {
+        return verificationKeys.get(kid);
+    }
+
+    Key legacyKey() {
+        return legacyKey;
+    }
+
+    // 헤더 세그먼트가 알려진 HS256 헤더와 정확히 같을 때만 키 반환
+    Key hmacKey(String headerSegment) {
+        return hmacHeaders.get(headerSegment);
+    }
+
+    String compactHeader() {
+        return compactHeader;
+    }
+
+    Map<String, Object> jwks() {
+        return jwks;
+    }
+
+    // 키 목록이 같으면 같은 값, JWKS 응답의 ETag로 사용
+    String version() {
+        return version;
+    }
+
+    // {"name":"value",...} 형태의 헤더를 base64url로 인코딩
+    private static String header(String... nameValues) {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < nameValues.length; i += 2) {
+            if (i > 0) json.append(',');
+            CompactJwt.appendString(json, nameValues[i]).append(':');
+            CompactJwt.appendString(json, nameValues[i + 1]);
+        }
+        return CompactJwt.ENCODER.encodeToString(json.append('}').toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Object> toJwk(ECPublicKey key, String keyId) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("use", "sig");
+        jwk.put("alg", "ES256");
+        jwk.put("kid", keyId);
+        jwk.put("x", coordinate(key.getW().getAffineX()));
+        jwk.put("y", coordinate(key.getW().getAffineY()));
+        return jwk;
+    }
+
+    // P-256 좌표는 부호 없는 32바이트 고정 길이로 인코딩
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
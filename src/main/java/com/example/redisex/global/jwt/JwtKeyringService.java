@@ -0,0 +1,294 @@
+package com.example.redisex.global.jwt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    redis에 저장된 서명 키링을 관리하고 모든 노드에 반영
+    - jwt:keys        : 해시, field = kid, value = 키 정보(JSON)
+    - jwt:keys:active : 새 토큰 서명에 쓰는 kid
+    - jwt:keys:bootstrap-retire-at : 설정 파일의 키(kid 없는 토큰 포함)를 검증에서 빼는 시각(ms)
+                                     redis에 처음 활성 키가 생길 때 한 번만 기록 (= 그 시각 + 가장 긴 토큰 수명)
+    키를 교체하면 이전 키는 retireAt(= 가장 긴 토큰 수명 이후)까지 검증에만 쓰이고,
+    jwt-keys 채널로 알림을 보내 다른 노드도 재시작 없이 새 키링을 읽어 감
+    교체는 rotation-interval에 따른 자동 교체와 관리자 API(POST /jwt-keys/rotate) 두 가지
+    키 원문이 저장되므로 redis 접근 권한은 서명 키와 같은 수준으로 관리해야 함
+ */
+@Slf4j
+@Component
+public class JwtKeyringService implements MessageListener, DisposableBean {
+    public static final String KEY_CHANNEL = "jwt-keys";
+    private static final String KEYS_KEY = "jwt:keys";
+    private static final String ACTIVE_KEY = "jwt:keys:active";
+    private static final String BOOTSTRAP_RETIRE_AT_KEY = "jwt:keys:bootstrap-retire-at";
+    private static final String ROTATE_LOCK_KEY = "jwt:keys:rotate-lock";
+    // 모르는 kid 때문에 redis를 다시 읽는 최소 간격 (잘못된 토큰으로 redis를 두드리지 못하게)
+    private static final long UNKNOWN_KEY_RELOAD_INTERVAL = 1000L;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final JwtSigner jwtSigner;
+    private final long retireAfter;
+    private final long rotationInterval;
+    // 모르는 kid로 요청된 재조회를 요청 스레드 밖에서 실행 (대기열 1개, 이미 차 있으면 버림)
+    private final ThreadPoolExecutor reloadExecutor = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+            runnable -> {
+                Thread thread = new Thread(runnable, "jwt-keyring-reload");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    private final AtomicLong lastReload = new AtomicLong();
+    private volatile long activeCreatedAt;
+
+    record StoredKey(String kid, String algorithm, String key, String publicKey, long createdAt, long retireAt) {
+        StoredKey retireAt(long retireAt) {
+            return new StoredKey(kid, algorithm, key, publicKey, createdAt, retireAt);
+        }
+    }
+
+    public JwtKeyringService(
+            RedisTemplate<String, String> redisTemplate,
+            ObjectMapper objectMapper,
+            JwtSigner jwtSigner,
+            RedisMessageListenerContainer listenerContainer,
+            // 이전 키로 서명된 토큰이 모두 만료될 때까지 검증 키로 유지
+            @Value("${jwt.token.refresh-expiration-time}") long retireAfter,
+            @Value("${jwt.keys.rotation-interval:0}") long rotationInterval
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.jwtSigner = jwtSigner;
+        this.retireAfter = retireAfter;
+        this.rotationInterval = rotationInterval;
+        jwtSigner.setUnknownKeyHandler(this::reloadForUnknownKey);
+        listenerContainer.addMessageListener(this, new ChannelTopic(KEY_CHANNEL));
+    }
+
+    @PostConstruct
+    protected void init() {
+        reload();
+    }
+
+    /*
+        redis에서 키링을 읽어 JwtSigner에 반영
+        새 키링을 다 만든 뒤 참조만 바꾸므로 검증 중인 요청은 기다리지 않음
+        redis에 실패하면 기존 키링을 그대로 사용
+     */
+    public synchronized void reload() {
+        lastReload.set(System.currentTimeMillis());
+        List<String> entries;
+        String activeKid;
+        String bootstrapRetireAt;
+        try {
+            entries = storedValues();
+            activeKid = redisTemplate.opsForValue().get(ACTIVE_KEY);
+            bootstrapRetireAt = redisTemplate.opsForValue().get(BOOTSTRAP_RETIRE_AT_KEY);
+        } catch (DataAccessException e) {
+            log.warn("jwt keyring reload failed: {}", e.getClass());
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        JwtKeyring.SigningKey active = null;
+        long createdAt = 0L;
+        long oldestCreatedAt = Long.MAX_VALUE;
+        List<JwtKeyring.SigningKey> retiring = new ArrayList<>();
+        for (String value : entries) {
+            StoredKey stored;
+            JwtKeyring.SigningKey key;
+            try {
+                stored = objectMapper.readValue(value, StoredKey.class);
+                key = toSigningKey(stored);
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("skipping invalid jwt key entry: {}", e.getClass());
+                continue;
+            }
+            oldestCreatedAt = Math.min(oldestCreatedAt, stored.createdAt());
+            if (stored.kid().equals(activeKid)) {
+                active = key;
+                createdAt = stored.createdAt();
+            } else if (stored.retireAt() == 0L || stored.retireAt() > now) {
+                retiring.add(key);
+            }
+        }
+        jwtSigner.update(active, retiring, active != null && bootstrapRetireAt(bootstrapRetireAt, oldestCreatedAt) <= now);
+        activeCreatedAt = createdAt;
+    }
+
+    // 기록이 없는 예전 키링은 가장 오래된 키가 만들어진 시각으로 계산 (그 이전에 활성 키가 생겼을 수 없음)
+    private long bootstrapRetireAt(String stored, long oldestCreatedAt) {
+        if (stored != null) {
+            try {
+                return Long.parseLong(stored);
+            } catch (NumberFormatException e) {
+                log.warn("invalid {} value", BOOTSTRAP_RETIRE_AT_KEY);
+            }
+        }
+        return oldestCreatedAt == Long.MAX_VALUE ? Long.MAX_VALUE : oldestCreatedAt + retireAfter;
+    }
+
+    /*
+        새 키를 만들어 활성 키로 지정하고 이전 활성 키는 검증 전용으로 돌림
+        반환값 : 새 kid
+     */
+    public synchronized String rotate() throws JsonProcessingException {
+        long now = System.currentTimeMillis();
+        StoredKey next = generate(jwtSigner.getAlgorithm(), now);
+
+        String previousKid = redisTemplate.opsForValue().get(ACTIVE_KEY);
+        StoredKey current = null;
+        List<String> expired = new ArrayList<>();
+        for (String value : storedValues()) {
+            StoredKey stored = objectMapper.readValue(value, StoredKey.class);
+            if (stored.kid().equals(previousKid)) current = stored;
+            else if (stored.retireAt() > 0L && stored.retireAt() <= now) expired.add(stored.kid());
+        }
+        StoredKey previous = current == null ? null : current.retireAt(now + retireAfter);
+
+        byte[] keysKey = bytes(KEYS_KEY);
+        byte[] nextValue = bytes(objectMapper.writeValueAsString(next));
+        byte[] previousJson = previous == null ? null : bytes(objectMapper.writeValueAsString(previous));
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hSet(keysKey, bytes(next.kid()), nextValue);
+            if (previousJson != null)
+                connection.hashCommands().hSet(keysKey, bytes(previous.kid()), previousJson);
+            for (String kid : expired)
+                connection.hashCommands().hDel(keysKey, bytes(kid));
+            connection.stringCommands().set(bytes(ACTIVE_KEY), bytes(next.kid()));
+            // 처음 활성 키가 생기는 교체라면 설정 파일의 키를 퇴역시킬 시각을 기록 (이미 있으면 유지)
+            if (previousKid == null)
+                connection.stringCommands().setNX(bytes(BOOTSTRAP_RETIRE_AT_KEY), bytes(String.valueOf(now + retireAfter)));
+            connection.publish(bytes(KEY_CHANNEL), bytes(next.kid()));
+            return null;
+        });
+        reload();
+        log.info("jwt signing key rotated: {}", next.kid());
+        return next.kid();
+    }
+
+    /*
+        관리자 API용 즉시 교체
+        자동 교체와 같은 잠금을 사용하므로 다른 노드가 교체 중이거나 1분 안에 교체된 적이 있으면 409
+     */
+    public String rotateNow() {
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(ROTATE_LOCK_KEY, "1", Duration.ofMinutes(1))))
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "다른 키 교체가 진행 중이거나 방금 교체되었습니다. 잠시 후 다시 시도해 주세요.");
+        try {
+            return rotate();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("jwt keyring is corrupted", e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        reload();
+    }
+
+    /*
+        pub/sub 메시지를 놓친 경우를 대비해 주기적으로 다시 읽음
+        rotation-interval이 설정되어 있으면 활성 키가 오래된 경우 한 노드만(잠금) 교체
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-interval:300000}")
+    public void refresh() {
+        reload();
+        if (rotationInterval <= 0L || activeCreatedAt + rotationInterval > System.currentTimeMillis()) return;
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue()
+                    .setIfAbsent(ROTATE_LOCK_KEY, "1", Duration.ofMinutes(1)))) return;
+            // 잠금을 얻는 사이 다른 노드가 이미 교체했을 수 있음
+            reload();
+            if (activeCreatedAt + rotationInterval <= System.currentTimeMillis()) rotate();
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("jwt signing key rotation failed: {}", e.getClass());
+        }
+    }
+
+    /*
+        JwtSigner가 모르는 kid를 만났을 때 호출 (요청 스레드)
+        lastReload를 CAS로 차지한 스레드 하나만 백그라운드 재조회를 요청하고 바로 반환
+     */
+    void reloadForUnknownKey() {
+        long now = System.currentTimeMillis();
+        long last = lastReload.get();
+        if (now - last < UNKNOWN_KEY_RELOAD_INTERVAL || !lastReload.compareAndSet(last, now)) return;
+        reloadExecutor.execute(this::reload);
+    }
+
+    @Override
+    public void destroy() {
+        reloadExecutor.shutdownNow();
+    }
+
+    private static StoredKey generate(JwtSigner.Algorithm algorithm, long now) {
+        Base64.Encoder encoder = Base64.getEncoder();
+        if (algorithm == JwtSigner.Algorithm.HS256) {
+            Key key = Keys.secretKeyFor(JwtSigner.signatureAlgorithm(algorithm));
+            return new StoredKey(JwtSigner.deriveKeyId(key), algorithm.name(),
+                    encoder.encodeToString(key.getEncoded()), null, now, 0L);
+        }
+        KeyPair keyPair = Keys.keyPairFor(JwtSigner.signatureAlgorithm(algorithm));
+        return new StoredKey(JwtSigner.deriveKeyId(keyPair.getPublic()), algorithm.name(),
+                encoder.encodeToString(keyPair.getPrivate().getEncoded()),
+                encoder.encodeToString(keyPair.getPublic().getEncoded()), now, 0L);
+    }
+
+    private static JwtKeyring.SigningKey toSigningKey(StoredKey stored) {
+        JwtSigner.Algorithm algorithm = JwtSigner.parseAlgorithm(stored.algorithm());
+        if (algorithm == JwtSigner.Algorithm.HS256) {
+            Key key = JwtSigner.hmacKey(Base64.getDecoder().decode(stored.key()));
+            return new JwtKeyring.SigningKey(stored.kid(), algorithm, key, key);
+        }
+        return new JwtKeyring.SigningKey(stored.kid(), algorithm,
+                JwtSigner.decodeEcKey(stored.key(), true), JwtSigner.decodeEcKey(stored.publicKey(), false));
+    }
+
+    /*
+        jwt:keys의 값(JSON) 목록
+        값은 연결 명령으로 UTF-8 바이트 그대로 쓰므로 읽을 때도 템플릿의 해시 직렬화(JDK)를 거치지 않음
+     */
+    private List<String> storedValues() {
+        List<byte[]> values = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.hashCommands().hVals(bytes(KEYS_KEY)));
+        List<String> result = new ArrayList<>(values == null ? 0 : values.size());
+        if (values != null)
+            for (byte[] value : values) result.add(new String(value, StandardCharsets.UTF_8));
+        return result;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
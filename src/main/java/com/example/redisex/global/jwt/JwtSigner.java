@@ -0,0 +1,297 @@
+package com.example.redisex.global.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+    JWT 서명/검증을 한 곳에서 처리하는 클래스 (JwtTokenProvider, JwtTokenUtils 공통)
+    - HS256 : 비밀 키로 서명, 검증하는 쪽도 비밀 키가 필요
+    - ES256 : 개인 키로 서명, 공개 키는 /.well-known/jwks.json으로 공개하여 다른 서비스가 직접 검증
+    모든 토큰 헤더에 kid를 넣고, 검증할 때는 kid로 키링에서 키를 바로 찾음
+    설정 파일의 키(jwt.secret 또는 jwt.signing.*)는 시작 키로 쓰이고, 이후 키 교체는 JwtKeyringService가 담당
+ */
+@Slf4j
+@Component
+public class JwtSigner {
+    public enum Algorithm {
+        HS256(SignatureAlgorithm.HS256),
+        ES256(SignatureAlgorithm.ES256);
+
+        private final SignatureAlgorithm signatureAlgorithm;
+
+        Algorithm(SignatureAlgorithm signatureAlgorithm) {
+            this.signatureAlgorithm = signatureAlgorithm;
+        }
+    }
+
+    private final Algorithm algorithm;
+    // 설정 파일의 키, kid가 없는 예전 토큰도 이 키로 검증
+    private final JwtKeyring.SigningKey bootstrapKey;
+    // kid로 키를 고르는 파서 하나를 만들어 두고 계속 재사용
+    private final JwtParser jwtParser;
+
+    private volatile JwtKeyring keyring;
+    // 모르는 kid가 들어왔을 때 키링 재조회를 요청하는 콜백, 기다리지 않고 바로 반환해야 함 (JwtKeyringService가 등록)
+    private volatile Runnable unknownKeyHandler = () -> { };
+
+    public JwtSigner(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.signing.algorithm:HS256}") String algorithm,
+            @Value("${jwt.signing.key-id:}") String keyId,
+            @Value("${jwt.signing.private-key:}") String privateKey,
+            @Value("${jwt.signing.public-key:}") String publicKey
+    ) {
+        this.algorithm = parseAlgorithm(algorithm);
+        Key signingKey;
+        Key verificationKey;
+        if (this.algorithm == Algorithm.HS256) {
+            // 기존 signWith(HS256, secret)과 같은 키 (base64 디코딩한 바이트)
+            signingKey = hmacKey(Decoders.BASE64.decode(secret));
+            verificationKey = signingKey;
+        } else if (!privateKey.isBlank()) {
+            if (publicKey.isBlank())
+                throw new IllegalStateException("jwt.signing.public-key is required with jwt.signing.private-key");
+            signingKey = decodeEcKey(privateKey, true);
+            verificationKey = decodeEcKey(publicKey, false);
+        } else {
+            // 키를 설정하지 않으면 재시작할 때마다 바뀌는 임시 키 사용 (단일 노드 개발용)
+            log.warn("jwt.signing.private-key is not set, using an ephemeral {} key pair", this.algorithm);
+            KeyPair keyPair = Keys.keyPairFor(this.algorithm.signatureAlgorithm);
+            signingKey = keyPair.getPrivate();
+            verificationKey = keyPair.getPublic();
+        }
+        String kid = keyId.isBlank() ? deriveKeyId(verificationKey) : keyId;
+        this.bootstrapKey = new JwtKeyring.SigningKey(kid, this.algorithm, signingKey, verificationKey);
+        this.keyring = new JwtKeyring(bootstrapKey, List.of(), bootstrapKey);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolve(header.getKeyId());
+                    }
+
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, String plaintext) {
+                        return resolve(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    // kid 헤더를 넣고 현재 활성 키로 서명
+    public String sign(JwtBuilder builder) {
+        JwtKeyring.SigningKey active = keyring.active();
+        return builder
+                .setHeaderParam(JwsHeader.KEY_ID, active.kid())
+                .signWith(active.signingKey(), active.algorithm().signatureAlgorithm)
+                .compact();
+    }
+
+    public JwtParser parser() {
+        return jwtParser;
+    }
+
+    // 활성 키가 HS256이면 compact 프로필로 서명할 수 있음
+    public boolean supportsCompact() {
+        return keyring.compactHeader() != null;
+    }
+
+    // 미리 만들어 둔 헤더 세그먼트에 페이로드를 붙여 HS256으로 서명 (supportsCompact()일 때만 호출)
+    String signCompact(byte[] payload) {
+        JwtKeyring current = keyring;
+        String header = current.compactHeader();
+        if (header == null) throw new IllegalStateException("active signing key is not HS256");
+        String signingInput = header + '.' + CompactJwt.ENCODER.encodeToString(payload);
+        byte[] input = signingInput.getBytes(StandardCharsets.US_ASCII);
+        return signingInput + '.' + CompactJwt.ENCODER.encodeToString(
+                hmacSha256(current.active().signingKey(), input, input.length));
+    }
+
+    /*
+        jjwt를 거치지 않는 HS256 검증 경로
+        헤더 세그먼트가 알려진 HS256 키의 헤더와 정확히 같고 클레임이 compact 고정 집합일 때만 처리
+        - 처리할 수 없는 토큰이면 null (호출하는 쪽에서 jjwt로 다시 검증)
+        - 서명이 맞지 않으면 SignatureException, 만료되었으면 ExpiredJwtException (jjwt와 같은 예외)
+     */
+    VerifiedToken verifyFast(String token, long now) {
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (second < 0 || token.indexOf('.', second + 1) >= 0) return null;
+        Key key = keyring.hmacKey(token.substring(0, first));
+        if (key == null) return null;
+
+        byte[] input = token.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer payload;
+        ByteBuffer signature;
+        try {
+            payload = CompactJwt.DECODER.decode(ByteBuffer.wrap(input, first + 1, second - first - 1));
+            signature = CompactJwt.DECODER.decode(ByteBuffer.wrap(input, second + 1, input.length - second - 1));
+        } catch (IllegalArgumentException e) {
+            // 형식 오류는 jjwt가 원인에 맞는 예외로 처리
+            return null;
+        }
+        byte[] expected = hmacSha256(key, input, second);
+        if (signature.remaining() != expected.length
+                || !MessageDigest.isEqual(expected, Arrays.copyOf(signature.array(), signature.remaining())))
+            throw new SignatureException("JWT signature does not match locally computed signature");
+
+        VerifiedToken verified = CompactJwt.readPayload(payload.array(), payload.remaining());
+        if (verified == null) return null;
+        if (verified.getExpiresAt() != 0L && verified.getExpiresAt() < now)
+            throw new ExpiredJwtException(null, null, "JWT expired");
+        return verified;
+    }
+
+    public Map<String, Object> jwks() {
+        return keyring.jwks();
+    }
+
+    public String getJwksVersion() {
+        return keyring.version();
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public String getKeyId() {
+        return keyring.active().kid();
+    }
+
+    /*
+        새 키 묶음으로 교체
+        설정 파일의 키는 retireBootstrap이 true가 될 때까지 검증용으로 남겨 둠
+        (redis에 활성 키가 생긴 뒤 가장 긴 토큰 수명이 지나면 그 키로 서명된 토큰은 모두 만료됨)
+        활성 키가 없으면 설정 파일의 키로 서명해야 하므로 퇴역시키지 않음
+     */
+    void update(JwtKeyring.SigningKey active, List<JwtKeyring.SigningKey> retiring, boolean retireBootstrap) {
+        if (active == null) {
+            this.keyring = new JwtKeyring(bootstrapKey, retiring, bootstrapKey);
+            return;
+        }
+        List<JwtKeyring.SigningKey> verifyOnly = new ArrayList<>(retiring);
+        if (!retireBootstrap) verifyOnly.add(bootstrapKey);
+        this.keyring = new JwtKeyring(active, verifyOnly, retireBootstrap ? null : bootstrapKey);
+    }
+
+    void setUnknownKeyHandler(Runnable unknownKeyHandler) {
+        this.unknownKeyHandler = unknownKeyHandler;
+    }
+
+    private Key resolve(String kid) {
+        JwtKeyring current = keyring;
+        if (kid == null) {
+            // kid가 없는 토큰은 키링 도입 이전에 발급된 토큰 (설정 파일의 키를 퇴역시킨 뒤에는 거절)
+            Key key = current.legacyKey();
+            if (key == null) throw new SignatureException("missing signing key id");
+            return key;
+        }
+        Key key = current.verificationKey(kid);
+        if (key == null) {
+            // 다른 노드가 방금 교체한 키일 수 있으므로 키링 재조회를 요청하고, 이 토큰은 바로 거절
+            // (재조회는 백그라운드에서 실행되므로 잘못된 kid로 요청 스레드를 붙잡거나 redis를 두드릴 수 없음)
+            unknownKeyHandler.run();
+            throw new SignatureException("unknown signing key id");
+        }
+        return key;
+    }
+
+    // 스레드마다 Mac 하나를 두고 키가 바뀔 때만 다시 초기화 (Mac.getInstance 비용을 매번 치르지 않도록)
+    private static final ThreadLocal<HmacState> HMAC = ThreadLocal.withInitial(HmacState::new);
+
+    private static final class HmacState {
+        private Mac mac;
+        private Key key;
+    }
+
+    static byte[] hmacSha256(Key key, byte[] input, int length) {
+        HmacState state = HMAC.get();
+        try {
+            if (state.key != key) {
+                if (state.mac == null) state.mac = Mac.getInstance("HmacSHA256");
+                state.key = null;
+                state.mac.init(key);
+                state.key = key;
+            }
+            state.mac.update(input, 0, length);
+            return state.mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static SecretKey hmacKey(byte[] secret) {
+        return new SecretKeySpec(secret, SignatureAlgorithm.HS256.getJcaName());
+    }
+
+    static Algorithm parseAlgorithm(String algorithm) {
+        String name = algorithm.trim().toUpperCase(Locale.ROOT);
+        // jjwt 0.11.x는 EdDSA(Ed25519) 서명을 지원하지 않음
+        if (name.equals("EDDSA") || name.equals("ED25519"))
+            throw new IllegalStateException("EdDSA is not supported by the JWT library in use, use ES256");
+        try {
+            return Algorithm.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("unsupported jwt signing algorithm: " + algorithm);
+        }
+    }
+
+    static SignatureAlgorithm signatureAlgorithm(Algorithm algorithm) {
+        return algorithm.signatureAlgorithm;
+    }
+
+    // PEM 또는 base64 DER (개인 키 PKCS#8, 공개 키 X.509)
+    static Key decodeEcKey(String encoded, boolean privateKey) {
+        String base64 = encoded.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        byte[] der = Base64.getDecoder().decode(base64);
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            return privateKey
+                    ? keyFactory.generatePrivate(new PKCS8EncodedKeySpec(der))
+                    : keyFactory.generatePublic(new X509EncodedKeySpec(der));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("invalid jwt signing key", e);
+        }
+    }
+
+    // 키 내용의 SHA-256 앞 8바이트, 같은 키면 모든 노드에서 같은 kid가 나옴
+    static String deriveKeyId(Key key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.redisex.global.jwt;
 
-import com.example.redisex.user.dto.CustomUserDetails;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +8,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,18 +15,23 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
 
 @Slf4j
 @Component
 @DependsOn("jwtTokenProvider")
 public class JwtTokenFilter extends OncePerRequestFilter {
-    private final JwtTokenUtils jwtTokenUtils;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+    private final AuthMetrics authMetrics;
 
-    public JwtTokenFilter(JwtTokenUtils jwtTokenUtils, JwtTokenProvider jwtTokenProvider) {
-        this.jwtTokenUtils = jwtTokenUtils;
+    public JwtTokenFilter(
+            JwtTokenProvider jwtTokenProvider,
+            TokenRevocationService tokenRevocationService,
+            AuthMetrics authMetrics
+    ) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRevocationService = tokenRevocationService;
+        this.authMetrics = authMetrics;
     }
 
 
@@ -42,28 +45,37 @@ public class JwtTokenFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
         // 요청에서 jwt 토큰을 추출
+        long start = authMetrics.start();
         String token = jwtTokenProvider.resolveToken(request);
+        authMetrics.recordResolve(start);
+        // 토큰 없는 요청(로그인, 공개 API)은 검증하지 않음
+        if (token == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
         try {
-            // 추출한 토큰이 유효한 토큰인지 검증
-            if (token != null && jwtTokenProvider.validateToken(token)) {
-                // 유효한 경우 사용자 이름을 가져와서 SecurityContext에 인증 정보 저장
+            // 추출한 토큰을 한 번만 해석하여 검증 (이미 검증된 토큰은 캐시에서 조회)
+            VerifiedToken verified = jwtTokenProvider.verify(token);
+            // 로그아웃, 모든 기기 로그아웃, 비밀번호 변경 등으로 폐기된 토큰 제외 (대부분 로컬에서 판단)
+            if (verified != null && tokenRevocationService.isRevoked(verified)) {
+                authMetrics.recordFailure(AuthMetrics.FailureReason.REVOKED);
+                log.debug("revoked JWT");
+                verified = null;
+            }
+            if (verified != null) {
+                // 유효한 경우 토큰의 클레임으로 인증 정보를 만들어 SecurityContext에 저장
+                // (사용자 상세 정보는 필요할 때만 조회)
                 SecurityContext context = SecurityContextHolder.createEmptyContext();
-                String username = jwtTokenUtils.parseClaims(token).getSubject();
-                // UsernamePasswordAuthenticationToken 객체를 생성하여 사용자 정보와
-                // 토큰, 빈 권한 목록을 전달
-                Authentication authenticationToken = new UsernamePasswordAuthenticationToken(
-                        CustomUserDetails.builder().username(username).build(),
-                        token, new ArrayList<>()
-                );
-                context.setAuthentication(authenticationToken);
+                context.setAuthentication(jwtTokenProvider.getAuthentication(verified, token));
                 // securityContext에 저장된 인증 정보 생성
                 SecurityContextHolder.setContext(context);
-                log.info("Set security context with JWT");
+                log.debug("Set security context with JWT");
             } else {
-                log.warn("JWT validation failed");
+                // 실패 원인은 auth.token.failures 지표로 집계됨
+                log.debug("JWT validation failed");
             }
         } catch (Exception e) {
-            log.warn("JWT validation failed");
+            log.warn("JWT validation failed: {}", e.getClass().getSimpleName());
         }
         filterChain.doFilter(request, response);
         /*
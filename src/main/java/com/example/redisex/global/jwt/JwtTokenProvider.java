@@ -1,22 +1,21 @@
 package com.example.redisex.global.jwt;
 
-import io.jsonwebtoken.JwtParser;
-import io.jsonwebtoken.Jwts;
 import com.example.redisex.user.dto.CustomUserDetails;
-import com.example.redisex.user.service.UserService;
+import com.example.redisex.user.entity.Role;
+import com.example.redisex.user.service.UserDetailsCache;
 import io.jsonwebtoken.*;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
-import java.util.concurrent.TimeUnit;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /*
     jwt 생성, 해석 유효성 검즞 및 관련된 작업
@@ -25,10 +24,23 @@ import java.util.concurrent.TimeUnit;
 @Component
 @Slf4j
 public class JwtTokenProvider {
-    private final RedisTemplate<String, String> redisTemplate;
+    // refresh 토큰과 access 토큰을 구분하기 위한 클레임
+    private static final String TOKEN_TYPE_CLAIM = "token_type";
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
+    // 토큰이 속한 로그인 세션(기기) ID
+    static final String SESSION_ID_CLAIM = "sid";
+    // 사용자 역할 비트 묶음 (Role), 요청마다 DB 조회 없이 권한을 판단하기 위해 사용
+    static final String ROLES_CLAIM = "rl";
+    // 밀리초 단위 발급 시각, iat는 초 단위라 같은 초 안의 not-before와 앞뒤를 가릴 수 없음 (없으면 iat 사용)
+    static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final RefreshTokenStore refreshTokenStore;
+    private final VerifiedTokenCache verifiedTokenCache;
+    // UserService를 직접 주입하면 순환 참조가 생기므로 캐시를 통해 사용자 조회
+    private final UserDetailsCache userDetailsCache;
+    private final AuthMetrics authMetrics;
+    // 서명 키, 알고리즘, 파서는 JwtSigner가 관리
+    private final JwtSigner jwtSigner;
 
     @Value("${jwt.token.access-expiration-time}")
     private Long accessExpirationTime;
@@ -36,68 +48,150 @@ public class JwtTokenProvider {
     @Value("${jwt.token.refresh-expiration-time}")
     private Long refreshExpirationTime;
 
-//    @Autowired
-//    private UserService userService;
+    // access 토큰 형식, standard : jjwt 기본 형식, compact : 고정 클레임 + 짧은 jti (CompactJwt, HS256 키일 때만)
+    @Value("${jwt.token.profile:standard}")
+    private String tokenProfile;
 
+    // HS256 토큰을 jjwt(Jackson) 없이 검증하는 빠른 경로 사용 여부, 처리할 수 없는 토큰은 jjwt로 검증
+    @Value("${jwt.token.fast-verify:true}")
+    private boolean fastVerify;
+
+    // compact 프로필이 설정되었지만 활성 키가 HS256이 아니어서 standard로 발급 중인지 (경고를 한 번만 남기기 위해 사용)
+    private final AtomicBoolean compactFallback = new AtomicBoolean();
+
+    @PostConstruct
+    void checkTokenProfile() {
+        if (isCompactProfile()) trackCompactSupport(jwtSigner.supportsCompact());
+    }
 
     /*
           사용자 인증 정보를 바탕으로 Access 토큰 생성하여 일시적인 접근 권한 부여
      */
-    public String createAccessToken(Authentication authentication){
+    public String createAccessToken(Authentication authentication, String sessionId){
+        if (isCompactProfile()) {
+            boolean supported = jwtSigner.supportsCompact();
+            trackCompactSupport(supported);
+            if (supported) return createCompactAccessToken(authentication, sessionId);
+        }
         // Authentication 객체로부터 사용자 이름을 추출하여 토큰의 주제로 설정
         Claims claims = Jwts.claims().setSubject(authentication.getName());
+        claims.put(SESSION_ID_CLAIM, sessionId);
+        claims.put(ROLES_CLAIM, Role.encode(authentication.getAuthorities()));
         // 현재 시간과 만료 시간 설정
         Date now = new Date();
+        claims.put(ISSUED_AT_MILLIS_CLAIM, now.getTime());
         Date expireDate = new Date(now.getTime() + accessExpirationTime);
         // 토큰을 서명하여 반환
-        return Jwts.builder()
+        return jwtSigner.sign(Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
-                .setExpiration(expireDate)
-                .signWith(SignatureAlgorithm.HS256, secretKey)
-                .compact();
+                .setExpiration(expireDate));
+    }
+
+    private boolean isCompactProfile() {
+        return "compact".equalsIgnoreCase(tokenProfile);
+    }
+
+    /*
+        compact 프로필을 쓸 수 없게 된 시점(시작 시 또는 ES256 키로 교체된 뒤 첫 발급)에 한 번만 경고
+        다시 HS256 키로 교체되면 상태를 되돌려 이후 교체 때도 경고가 남도록 함
+     */
+    private void trackCompactSupport(boolean supported) {
+        if (supported) {
+            if (compactFallback.get()) compactFallback.set(false);
+        } else if (compactFallback.compareAndSet(false, true)) {
+            log.warn("jwt.token.profile=compact requires an HS256 signing key, issuing standard access tokens (active kid: {})",
+                    jwtSigner.getKeyId());
+        }
+    }
+
+    // compact 프로필 access 토큰, 클레임은 standard와 같고(sub, sid, rl, jti, iat, iat_ms, exp) jti만 짧음
+    private String createCompactAccessToken(Authentication authentication, String sessionId) {
+        long now = System.currentTimeMillis();
+        byte[] payload = CompactJwt.payload(
+                authentication.getName(), sessionId, Role.encode(authentication.getAuthorities()), CompactJwt.newId(),
+                now, now + accessExpirationTime);
+        return jwtSigner.signCompact(payload);
     }
 
     /*
         사용자 인증 정보를 기반으로 Refresh 토큰을 생성하고 redis에 저장
         refresh 토큰은 access 토큰의 만료 후 새로운 access 토큰을 발급받을 때 사용
      */
-    public String createRefreshToken(Authentication authentication){
+    public String createRefreshToken(Authentication authentication, String sessionId){
+        String refreshToken = generateRefreshToken(authentication, sessionId);
+        // 세션(기기)별로 redis에 저장, 만료 시간도 함께 저장
+        refreshTokenStore.save(authentication.getName(), sessionId, refreshToken);
+        return refreshToken;
+    }
+
+    /*
+        refresh 토큰 교체
+        redis에 저장된 토큰이 oldRefreshToken과 같을 때만 newRefreshToken으로 바꾸고 TTL을 다시 설정
+        이미 교체된 토큰이 다시 들어오면 REUSED를 반환하고 저장된 토큰도 폐기
+     */
+    public RefreshTokenStore.RotationResult rotateRefreshToken(
+            String username, String sessionId, String oldRefreshToken, String newRefreshToken
+    ) {
+        return refreshTokenStore.rotate(username, sessionId, oldRefreshToken, newRefreshToken);
+    }
+
+    // redis에 저장하지 않고 refresh 토큰 문자열만 생성
+    public String generateRefreshToken(Authentication authentication, String sessionId) {
         Claims claims = Jwts.claims().setSubject(authentication.getName());
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
+        claims.put(SESSION_ID_CLAIM, sessionId);
         Date now = new Date();
         Date expireDate = new Date(now.getTime() + refreshExpirationTime);
 
-        String refreshToken = Jwts.builder()
+        // 같은 시각에 발급되어도 토큰이 겹치지 않도록 jti를 넣어 재사용 감지에 사용
+        return jwtSigner.sign(Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
-                .setExpiration(expireDate)
-                .signWith(SignatureAlgorithm.HS256, secretKey)
-                .compact();
-
-        // redis에 저장, 만료 시간도 함께 저장
-        redisTemplate.opsForValue().set(
-                authentication.getName(),
-                refreshToken,
-                refreshExpirationTime,
-                TimeUnit.MILLISECONDS
-        );
-        return refreshToken;
+                .setExpiration(expireDate));
+    }
+
+    // refresh 토큰의 서명과 만료, 토큰 종류를 검증, 유효하지 않으면 null
+    // 한 번 쓰면 교체되는 토큰이므로 검증 캐시에는 넣지 않음
+    public VerifiedToken verifyRefreshToken(String token) {
+        try {
+            Claims claims = parse(token);
+            if (!REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM))) {
+                authMetrics.recordFailure(AuthMetrics.FailureReason.WRONG_TYPE);
+                return null;
+            }
+            return VerifiedToken.fromClaims(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            recordFailure(e);
+            log.debug("유효하지 않은 refresh 토큰입니다.");
+            return null;
+        }
     }
 
 
     /*
         토큰으로부터 클레임을 만들고, 이를 통해 user 객체 생성해 Authentication 객체 변환
-        토큰을 복호화해 토큰에 들어있는 유저 정보를 꺼내고 authentication으로 반환
+        유효하지 않은 토큰이면 null 반환
      */
     public Authentication getAuthentication(String token) {
-        // jwt 토큰 분석하여 사용자 이름 추출
-        String userPrincipal = Jwts.parser()
-                .setSigningKey(secretKey)
-                .parseClaimsJwt(token)
-                .getBody().getSubject();
-        // CustomUserDetails 객체를 가져와 인증 객체 생성
-        CustomUserDetails userDetails = userService.loadUserByUsername(userPrincipal);
-        return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+        VerifiedToken verified = verify(token);
+        return verified == null ? null : getAuthentication(verified, token);
+    }
+
+    /*
+        이미 검증한 토큰으로 Authentication 생성
+        principal은 사용자 이름만 가진 지연 로딩 객체이고, email 등은 처음 접근할 때 캐시 -> DB 순서로 조회
+     */
+    public Authentication getAuthentication(VerifiedToken verified, String token) {
+        CustomUserDetails userDetails = CustomUserDetails.lazy(
+                verified.getSubject(), verified.getRoles(), userDetailsCache::get);
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, token, userDetails.getAuthorities());
+        // 로그아웃 시 jti, 세션 ID를 다시 해석하지 않도록 검증 결과를 함께 보관
+        authentication.setDetails(verified);
+        return authentication;
     }
 
 
@@ -116,18 +210,95 @@ public class JwtTokenProvider {
 
     // access 토큰을 검증
     public boolean validateToken(String token){
+        return verify(token) != null;
+    }
+
+    /*
+        토큰을 한 번만 해석/검증하고 필요한 값을 담은 VerifiedToken을 반환
+        이미 검증한 토큰은 캐시에서 바로 꺼내고, 유효하지 않은 토큰이면 null 반환
+     */
+    public VerifiedToken verify(String token) {
+        long start = authMetrics.start();
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            authMetrics.recordVerify(start, true);
+            return cached;
+        }
+        try {
+            // token_type 클레임이 있는 refresh 토큰은 빠른 경로가 처리하지 않으므로 아래의 종류 확인을 거침
+            VerifiedToken verified = fastVerify ? parseFast(token) : null;
+            if (verified == null) {
+                Claims claims = parse(token);
+                // refresh 토큰으로는 API에 접근할 수 없음
+                if (REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM))) {
+                    authMetrics.recordFailure(AuthMetrics.FailureReason.WRONG_TYPE);
+                    log.debug("access 토큰 자리에 refresh 토큰이 사용되었습니다.");
+                    return null;
+                }
+                verified = VerifiedToken.fromClaims(claims);
+            }
+            verifiedTokenCache.put(token, verified);
+            return verified;
+        } catch (JwtException | IllegalArgumentException e) {
+            // 실패 원인은 지표로 집계하고, 요청마다 남는 로그는 debug로만 기록
+            recordFailure(e);
+            log.debug("유효하지 않은 JWT 토큰입니다: {}", e.getClass().getSimpleName());
+            return null;
+        } finally {
+            authMetrics.recordVerify(start, false);
+        }
+    }
+
+    private Claims parse(String token) {
+        long start = authMetrics.start();
+        try {
+            return jwtSigner.parser().parseClaimsJws(token).getBody();
+        } finally {
+            authMetrics.recordParse(start);
+        }
+    }
+
+    // 빠른 경로가 처리하지 못해 null이면 parse()에서 시간을 기록하므로 여기서는 남기지 않음
+    private VerifiedToken parseFast(String token) {
+        long start = authMetrics.start();
+        VerifiedToken verified = null;
         try {
-            Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token);
-            return true;
-        } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
-            log.info("잘못된 JWT 서명입니다.");
-        } catch (ExpiredJwtException e) {
-            log.info("만료된 JWT 토큰입니다.");
-        } catch (UnsupportedJwtException e) {
-            log.info("지원되지 않는 JWT 토큰입니다.");
-        } catch (IllegalArgumentException e) {
-            log.info("JWT 토큰이 잘못되었습니다.");
+            verified = jwtSigner.verifyFast(token, System.currentTimeMillis());
+            return verified;
+        } catch (JwtException e) {
+            authMetrics.recordParse(start);
+            throw e;
+        } finally {
+            if (verified != null) authMetrics.recordParse(start);
         }
-        return false;
+    }
+
+    /*
+        verify()가 null을 반환한 토큰의 실패 원인 (토큰 검사 API 응답용)
+        실패한 토큰에만 한 번 더 해석하며, 지표는 verify()에서 이미 남겼으므로 기록하지 않음
+     */
+    public AuthMetrics.FailureReason failureReason(String token) {
+        try {
+            Claims claims = jwtSigner.parser().parseClaimsJws(token).getBody();
+            return REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM)) ? AuthMetrics.FailureReason.WRONG_TYPE : null;
+        } catch (JwtException | IllegalArgumentException e) {
+            return reasonOf(e);
+        }
+    }
+
+    private void recordFailure(Exception e) {
+        authMetrics.recordFailure(reasonOf(e));
+    }
+
+    private static AuthMetrics.FailureReason reasonOf(Exception e) {
+        if (e instanceof ExpiredJwtException)
+            return AuthMetrics.FailureReason.EXPIRED;
+        if (e instanceof io.jsonwebtoken.security.SecurityException)
+            return AuthMetrics.FailureReason.SIGNATURE;
+        if (e instanceof MalformedJwtException)
+            return AuthMetrics.FailureReason.MALFORMED;
+        if (e instanceof UnsupportedJwtException)
+            return AuthMetrics.FailureReason.UNSUPPORTED;
+        return AuthMetrics.FailureReason.ILLEGAL_ARGUMENT;
     }
 }
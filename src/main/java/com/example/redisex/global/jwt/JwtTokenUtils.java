@@ -1,31 +1,20 @@
 package com.example.redisex.global.jwt;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
 
 @Slf4j
 @Component
 public class JwtTokenUtils {
-    private final Key signingKey;
-    private final JwtParser jwtParser;
-    public JwtTokenUtils(
-            @Value("${jwt.secret}") String jwtSecret
-    ) {
-        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        // JWT 번역기 만들기
-        this.jwtParser = Jwts
-                .parserBuilder()
-                .setSigningKey(this.signingKey)
-                .build();
+    // JwtTokenProvider와 같은 키/알고리즘으로 서명하고 검증
+    private final JwtSigner jwtSigner;
+    public JwtTokenUtils(JwtSigner jwtSigner) {
+        this.jwtSigner = jwtSigner;
     }
 
     // 1. JWT가 유효한지 판단하는 메소드
@@ -35,7 +24,7 @@ public class JwtTokenUtils {
         try {
             // 정당한 JWT면 true,
             // parseClaimsJws: 암호화된 JWT를 해석하기 위한 메소드
-            jwtParser.parseClaimsJws(token);
+            jwtSigner.parser().parseClaimsJws(token);
             return true;
             // 정당하지 않은 JWT면 false
         } catch (Exception e) {
@@ -47,7 +36,7 @@ public class JwtTokenUtils {
     // JWT를 인자로 받고, 그 JWT를 해석해서
     // 사용자 정보를 회수하는 메소드
     public Claims parseClaims(String token) {
-        return jwtParser
+        return jwtSigner.parser()
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -60,17 +49,13 @@ public class JwtTokenUtils {
                 .setIssuedAt(Date.from(Instant.now()))
                 .setExpiration(Date.from(Instant.now().plusSeconds(3600)));
 
-        return Jwts.builder()
-                .setClaims(jwtClaims)
-                .signWith(signingKey)
-                .compact();
+        return jwtSigner.sign(Jwts.builder()
+                .setClaims(jwtClaims));
     }
 
     public String createRefreshToken() {
-        return Jwts.builder()
+        return jwtSigner.sign(Jwts.builder()
                 .setIssuedAt(Date.from(Instant.now()))
-                .setExpiration(Date.from(Instant.now().plusSeconds(3600 * 24)))
-                .signWith(signingKey)
-                .compact();
+                .setExpiration(Date.from(Instant.now().plusSeconds(3600 * 24))));
     }
 }
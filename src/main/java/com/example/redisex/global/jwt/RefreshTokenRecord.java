@@ -0,0 +1,48 @@
+package com.example.redisex.global.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/*
+    redis에 저장하는 refresh 토큰 정보 (토큰 문자열 대신 고정 길이 다이제스트만 보관)
+    digest     : 토큰의 SHA-256 앞 16바이트, 제시된 토큰과 비교하는 데만 사용
+    issuedAt   : 마지막으로 발급(교체)된 시각 (ms)
+    generation : 로그인 후 교체된 횟수, 교체는 lua 스크립트에서 1씩 올림
+    기기(세션) ID는 해시 field이므로 값에는 넣지 않음
+ */
+public record RefreshTokenRecord(byte[] digest, long issuedAt, int generation) {
+    public static final int DIGEST_LENGTH = 16;
+
+    public static RefreshTokenRecord issue(String refreshToken, long issuedAt) {
+        return new RefreshTokenRecord(digest(refreshToken), issuedAt, 0);
+    }
+
+    public static byte[] digest(String refreshToken) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(hash, DIGEST_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RefreshTokenRecord other
+                && Arrays.equals(digest, other.digest)
+                && issuedAt == other.issuedAt
+                && generation == other.generation;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(digest) + Long.hashCode(issuedAt)) + generation;
+    }
+
+    @Override
+    public String toString() {
+        return "RefreshTokenRecord[issuedAt=" + issuedAt + ", generation=" + generation + "]";
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.redisex.global.jwt;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/*
+    RefreshTokenRecord <-> 29바이트 이진 값
+    [0] 버전(1) | [1..16] 다이제스트 | [17..24] issuedAt (big endian) | [25..28] generation (big endian)
+    lua 스크립트(refresh-token-rotate.lua)도 같은 위치를 읽으므로 형식을 바꾸면 VERSION과 스크립트를 함께 바꿔야 함
+    이전 형식(JWT 문자열 전체)은 첫 바이트가 VERSION이 아니므로 구분 가능, 읽을 때 다이제스트로 바꿔서 반환
+    32바이트 이하라 해시가 listpack 인코딩을 유지하여 JWT 문자열(수백 바이트)을 저장할 때보다 메모리가 크게 줄어듦
+ */
+public class RefreshTokenRecordSerializer implements RedisSerializer<RefreshTokenRecord> {
+    public static final RefreshTokenRecordSerializer INSTANCE = new RefreshTokenRecordSerializer();
+
+    static final byte VERSION = 1;
+    static final int SIZE = 1 + RefreshTokenRecord.DIGEST_LENGTH + Long.BYTES + Integer.BYTES;
+
+    @Override
+    public byte[] serialize(RefreshTokenRecord record) {
+        if (record == null) return null;
+        return ByteBuffer.allocate(SIZE)
+                .put(VERSION)
+                .put(record.digest())
+                .putLong(record.issuedAt())
+                .putInt(record.generation())
+                .array();
+    }
+
+    @Override
+    public RefreshTokenRecord deserialize(byte[] bytes) {
+        if (bytes == null) return null;
+        if (bytes.length != SIZE || bytes[0] != VERSION)
+            // 이전 형식 : 발급 시각과 교체 횟수는 알 수 없음
+            return new RefreshTokenRecord(
+                    RefreshTokenRecord.digest(new String(bytes, StandardCharsets.UTF_8)), 0L, 0);
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, SIZE - 1);
+        byte[] digest = new byte[RefreshTokenRecord.DIGEST_LENGTH];
+        buffer.get(digest);
+        return new RefreshTokenRecord(digest, buffer.getLong(), buffer.getInt());
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.redisex.global.jwt;
+
+import com.example.redisex.global.redis.RedisWriteCoalescer;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScriptOutputType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/*
+    redis에 refresh 토큰을 세션(기기) 단위로 저장하고 교체하는 클래스
+    사용자마다 두 개의 키를 사용
+    - rt:{username} : 해시, field = 세션 ID, value = RefreshTokenRecord 이진 값 (토큰 다이제스트 + 발급 시각 + 교체 횟수, 29바이트)
+    - rs:{username} : 정렬 집합, member = 세션 ID, score = 만료 시각(ms)
+    {username} 해시 태그로 두 키가 클러스터에서도 같은 슬롯에 배치되어 lua 스크립트로 함께 다룰 수 있음
+    저장과 폐기는 RedisWriteCoalescer로 다른 요청의 쓰기와 묶어서 전송
+
+    이전 형식(refresh:{username} 해시에 JWT 문자열 전체, refresh-sessions:{username})은 jwt.session.legacy-read가 켜져 있는 동안
+    재발급, 조회, 폐기에서 함께 확인하고, 재발급에 성공하면 새 키로 옮김
+    refresh 토큰 수명(jwt.token.refresh-expiration-time)이 지나면 이전 키는 모두 만료되므로 legacy-read를 꺼도 됨
+ */
+@Component
+public class RefreshTokenStore {
+    private static final RedisScript<Long> SAVE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/refresh-token-save.lua"), Long.class);
+    private static final RedisScript<Long> ROTATE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/refresh-token-rotate.lua"), Long.class);
+
+    private static final byte[] SAVE_SCRIPT_BYTES = bytes(SAVE_SCRIPT.getScriptAsString());
+    private static final RedisSerializer<Long> RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisWriteCoalescer writeCoalescer;
+    // 로그인 시 refresh 토큰 저장을 redis 응답까지 기다릴지 여부
+    private final RedisWriteCoalescer.Durability saveDurability;
+    // refresh 토큰 TTL (ms)
+    private final long ttlMillis;
+    // 사용자당 유지할 수 있는 최대 세션 수, 넘으면 가장 오래된 세션부터 제거
+    private final int maxSessionsPerUser;
+    // 이전 형식 키도 함께 확인할지 여부
+    private final boolean legacyRead;
+
+    public RefreshTokenStore(
+            RedisTemplate<String, String> redisTemplate,
+            RedisWriteCoalescer writeCoalescer,
+            @Value("${jwt.token.refresh-expiration-time}") long ttlMillis,
+            @Value("${jwt.session.max-per-user:5}") int maxSessionsPerUser,
+            @Value("${jwt.session.save-durability:ack}") String saveDurability,
+            @Value("${jwt.session.legacy-read:true}") boolean legacyRead
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.writeCoalescer = writeCoalescer;
+        this.saveDurability = RedisWriteCoalescer.Durability.parse(saveDurability);
+        this.ttlMillis = ttlMillis;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.legacyRead = legacyRead;
+    }
+
+    public enum RotationResult {
+        ROTATED, NOT_FOUND, REUSED
+    }
+
+    // issuedAt : 마지막으로 토큰이 발급(교체)된 시각
+    public record Session(String sessionId, long issuedAt, long expiresAt) {
+    }
+
+    /*
+        세션별로 refresh 토큰 저장, 만료된 세션 정리와 세션 수 제한도 함께 처리
+        fire-and-forget이면 저장 전에 응답이 나갈 수 있으므로, 응답 직후 재발급 요청은 드물게 NOT_FOUND가 될 수 있음
+     */
+    public void save(String username, String sessionId, String refreshToken) {
+        long now = System.currentTimeMillis();
+        byte[] record = RefreshTokenRecordSerializer.INSTANCE.serialize(RefreshTokenRecord.issue(refreshToken, now));
+        byte[][] keys = keys(username).stream().map(RefreshTokenStore::bytes).toArray(byte[][]::new);
+        byte[][] args = {
+                bytes(sessionId), record, bytes(String.valueOf(now + ttlMillis)), bytes(String.valueOf(now)),
+                bytes(String.valueOf(maxSessionsPerUser)), bytes(String.valueOf(ttlMillis))};
+        writeCoalescer.write(commands -> List.of(commands.eval(
+                SAVE_SCRIPT_BYTES, ScriptOutputType.INTEGER, keys, args)), saveDurability);
+    }
+
+    // 저장된 세션 토큰의 다이제스트가 oldToken과 같을 때만 newToken으로 교체
+    public RotationResult rotate(String username, String sessionId, String oldToken, String newToken) {
+        long now = System.currentTimeMillis();
+        Long result = redisTemplate.execute(
+                ROTATE_SCRIPT,
+                RedisSerializer.byteArray(),
+                RESULT_SERIALIZER,
+                keys(username),
+                bytes(sessionId),
+                RefreshTokenRecord.digest(oldToken),
+                RefreshTokenRecordSerializer.INSTANCE.serialize(RefreshTokenRecord.issue(newToken, now)),
+                bytes(String.valueOf(now + ttlMillis)),
+                bytes(String.valueOf(now)),
+                bytes(String.valueOf(ttlMillis)),
+                bytes(oldToken)
+        );
+        if (result == null || result == 0L) return RotationResult.NOT_FOUND;
+        return result > 0 ? RotationResult.ROTATED : RotationResult.REUSED;
+    }
+
+    /*
+        만료되지 않은 세션을 최근 발급 순으로 페이지 단위 조회
+        legacy-read가 켜져 있으면 두 정렬 집합을 한 번의 파이프라인으로 읽어 합침
+     */
+    @SuppressWarnings("unchecked")
+    public List<Session> findSessions(String username, int page, int size) {
+        if (page < 0 || size < 1) throw new IllegalArgumentException("page must be >= 0 and size >= 1");
+        long now = System.currentTimeMillis();
+        if (!legacyRead) {
+            Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet().reverseRangeByScoreWithScores(
+                    sessionsKey(username), now, Double.POSITIVE_INFINITY, (long) page * size, size);
+            return toSessions(tuples == null ? List.of() : tuples);
+        }
+
+        Range<Double> alive = Range.closed((double) now, Double.POSITIVE_INFINITY);
+        // 두 집합에서 각각 (page + 1) * size개까지 읽어야 합친 결과의 해당 페이지가 정확함
+        Limit limit = Limit.limit().count((int) Math.min(Integer.MAX_VALUE, (long) (page + 1) * size));
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.zSetCommands().zRevRangeByScoreWithScores(bytes(sessionsKey(username)), alive, limit);
+            connection.zSetCommands().zRevRangeByScoreWithScores(bytes(legacySessionsKey(username)), alive, limit);
+            return null;
+        });
+        List<ZSetOperations.TypedTuple<String>> merged = new ArrayList<>();
+        for (Object result : results)
+            if (result != null) merged.addAll((Set<ZSetOperations.TypedTuple<String>>) result);
+        merged.sort(Comparator.comparing(ZSetOperations.TypedTuple<String>::getScore,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        int from = (int) Math.min(merged.size(), (long) page * size);
+        return toSessions(merged.subList(from, Math.min(merged.size(), from + size)));
+    }
+
+    public long countSessions(String username) {
+        long now = System.currentTimeMillis();
+        if (!legacyRead) {
+            Long count = redisTemplate.opsForZSet().count(sessionsKey(username), now, Double.POSITIVE_INFINITY);
+            return count == null ? 0L : count;
+        }
+        Range<Double> alive = Range.closed((double) now, Double.POSITIVE_INFINITY);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.zSetCommands().zCount(bytes(sessionsKey(username)), alive);
+            connection.zSetCommands().zCount(bytes(legacySessionsKey(username)), alive);
+            return null;
+        });
+        long total = 0L;
+        for (Object result : results)
+            if (result != null) total += ((Number) result).longValue();
+        return total;
+    }
+
+    private List<Session> toSessions(Collection<ZSetOperations.TypedTuple<String>> tuples) {
+        List<Session> sessions = new ArrayList<>(tuples.size());
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            long expiresAt = tuple.getScore() == null ? 0L : tuple.getScore().longValue();
+            sessions.add(new Session(tuple.getValue(), expiresAt - ttlMillis, expiresAt));
+        }
+        return sessions;
+    }
+
+    // 세션 하나 폐기 (HDEL + ZREM을 다른 쓰기와 같은 파이프라인으로 전송)
+    public void revoke(String username, String sessionId) {
+        byte[] field = bytes(sessionId);
+        writeCoalescer.write(commands -> {
+            List<RedisFuture<?>> replies = new ArrayList<>(4);
+            replies.add(commands.hdel(bytes(tokensKey(username)), field));
+            replies.add(commands.zrem(bytes(sessionsKey(username)), field));
+            if (legacyRead) {
+                replies.add(commands.hdel(bytes(legacyTokensKey(username)), field));
+                replies.add(commands.zrem(bytes(legacySessionsKey(username)), field));
+            }
+            return replies;
+        }, RedisWriteCoalescer.Durability.ACK);
+    }
+
+    // 여러 사용자의 모든 세션 폐기 ("모든 기기에서 로그아웃"), 사용자 수와 관계없이 한 번의 파이프라인으로 전송
+    public void revokeAll(Collection<String> usernames) {
+        writeCoalescer.write(commands -> {
+            List<RedisFuture<?>> replies = new ArrayList<>(usernames.size());
+            for (String username : usernames) {
+                replies.add(commands.del(keys(username).stream().map(RefreshTokenStore::bytes).toArray(byte[][]::new)));
+            }
+            return replies;
+        }, RedisWriteCoalescer.Durability.ACK);
+    }
+
+    // 스크립트 KEYS 순서 : 새 해시, 새 정렬 집합, (legacy-read일 때) 이전 해시, 이전 정렬 집합
+    private List<String> keys(String username) {
+        return legacyRead
+                ? List.of(tokensKey(username), sessionsKey(username), legacyTokensKey(username), legacySessionsKey(username))
+                : List.of(tokensKey(username), sessionsKey(username));
+    }
+
+    private static String tokensKey(String username) {
+        return "rt:{" + username + "}";
+    }
+
+    boolean isLegacyRead() {
+        return legacyRead;
+    }
+
+    static String sessionsKey(String username) {
+        return "rs:{" + username + "}";
+    }
+
+    private static String legacyTokensKey(String username) {
+        return "refresh:{" + username + "}";
+    }
+
+    static String legacySessionsKey(String username) {
+        return "refresh-sessions:{" + username + "}";
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
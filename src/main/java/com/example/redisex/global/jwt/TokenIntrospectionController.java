@@ -0,0 +1,22 @@
+package com.example.redisex.global.jwt;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/*
+    게이트웨이용 토큰 일괄 검사 API (GATEWAY 역할 필요)
+    게이트웨이는 처리 중인 요청들의 토큰을 모아 한 번에 보내고, 요청 순서대로 결과를 받음
+ */
+@RestController
+@RequiredArgsConstructor
+public class TokenIntrospectionController {
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    @PostMapping("/tokens/introspect")
+    public TokenIntrospectionResultDto introspect(@RequestBody @Valid TokenIntrospectionDto request) {
+        return new TokenIntrospectionResultDto(tokenIntrospectionService.introspect(request.getTokens()));
+    }
+}
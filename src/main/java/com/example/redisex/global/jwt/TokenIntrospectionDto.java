@@ -0,0 +1,15 @@
+package com.example.redisex.global.jwt;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+
+import java.util.List;
+
+// 게이트웨이용 토큰 일괄 검사 요청, 결과는 같은 순서로 반환
+@Getter
+public class TokenIntrospectionDto {
+    @NotEmpty(message = "검사할 토큰이 없습니다.")
+    @Size(max = 1000, message = "한 번에 최대 1000개까지 검사할 수 있습니다.")
+    private List<String> tokens;
+}
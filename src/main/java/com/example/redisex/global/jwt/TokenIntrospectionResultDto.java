@@ -0,0 +1,37 @@
+package com.example.redisex.global.jwt;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class TokenIntrospectionResultDto {
+    private List<Result> results;
+
+    /*
+        토큰 하나의 검사 결과 (RFC 7662의 active 의미를 따름)
+        status : active | session-ended | revoked | AuthMetrics.FailureReason 태그(expired, signature 등)
+        session-ended는 refresh 세션만 끝난 토큰으로, 요청 필터와 같게 active:true (재발급만 불가)
+        유효하지 않은 토큰은 클레임을 채우지 않음
+     */
+    @Getter
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Result {
+        private boolean active;
+        private String status;
+        private String sub;
+        private String jti;
+        private String sid;
+        private List<String> roles;
+        // epoch millis
+        private Long iat;
+        private Long exp;
+        // 로그인 세션이 아직 남아 있는지, sid가 없거나 redis 확인에 실패하면 null
+        private Boolean sessionActive;
+    }
+}
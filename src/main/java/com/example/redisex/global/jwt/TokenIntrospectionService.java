@@ -0,0 +1,266 @@
+package com.example.redisex.global.jwt;
+
+import com.example.redisex.user.entity.Role;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    게이트웨이용 토큰 일괄 검사
+    1. 서명 검증 : 토큰을 chunk-size개씩 나눠 전용 스레드 풀에서 병렬로 검증 (첫 묶음은 호출 스레드에서 처리)
+       검증 결과 캐시(VerifiedTokenCache)를 그대로 쓰므로 게이트웨이가 같은 토큰을 다시 보내면 HMAC 계산이 없음
+    2. redis 확인 : 폐기 여부(블룸 필터가 "있을 수도 있다"고 답한 토큰만)와 세션 유효 여부를 모든 토큰에 대해 한 번의 파이프라인으로 조회
+       세션이 끝난 토큰은 status만 session-ended로 알리고 active는 true로 둠
+       (JwtTokenFilter도 세션을 확인하지 않고 받아들이므로, 만료 전까지는 두 경로의 판단이 같아야 함)
+    대기열이 가득 차거나 timeout 안에 끝나지 않으면 503
+ */
+@Slf4j
+@Component
+public class TokenIntrospectionService implements DisposableBean {
+    private static final Role[] ROLES = Role.values();
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenStore refreshTokenStore;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ThreadPoolExecutor executor;
+    private final int chunkSize;
+    private final long timeoutMillis;
+
+    private final DistributionSummary batchSize;
+    private final Counter rejected;
+
+    public TokenIntrospectionService(
+            JwtTokenProvider jwtTokenProvider,
+            TokenRevocationService tokenRevocationService,
+            RefreshTokenStore refreshTokenStore,
+            RedisTemplate<String, String> redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.introspection.pool-size:0}") int poolSize,
+            @Value("${jwt.introspection.queue-capacity:256}") int queueCapacity,
+            @Value("${jwt.introspection.chunk-size:32}") int chunkSize,
+            @Value("${jwt.introspection.timeout:2000}") long timeoutMillis
+    ) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenStore = refreshTokenStore;
+        this.redisTemplate = redisTemplate;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.timeoutMillis = timeoutMillis;
+        // 0이면 CPU 코어 수만큼 사용
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "token-introspect-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        new ExecutorServiceMetrics(executor, "token.introspect", Tags.empty()).bindTo(meterRegistry);
+        this.batchSize = DistributionSummary.builder("token.introspect.batch.size")
+                .description("요청 한 번에 검사한 토큰 수")
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter("token.introspect.rejected");
+    }
+
+    // 요청 순서대로 결과 반환
+    public List<TokenIntrospectionResultDto.Result> introspect(List<String> tokens) {
+        batchSize.record(tokens.size());
+        VerifiedToken[] verified = new VerifiedToken[tokens.size()];
+        AuthMetrics.FailureReason[] failures = new AuthMetrics.FailureReason[tokens.size()];
+        verifyAll(tokens, verified, failures);
+
+        long now = System.currentTimeMillis();
+        boolean[] revoked = new boolean[tokens.size()];
+        Boolean[] sessionActive = new Boolean[tokens.size()];
+        lookup(verified, revoked, sessionActive, now);
+
+        List<TokenIntrospectionResultDto.Result> results = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            VerifiedToken token = verified[i];
+            if (token == null) {
+                // 드물게 두 번째 해석이 성공하는 경우(키 교체 직후 등)에도 유효하지 않은 것으로 응답
+                String status = failures[i] == null ? "invalid" : failures[i].getTag();
+                results.add(TokenIntrospectionResultDto.Result.builder().active(false).status(status).build());
+            } else if (revoked[i]) {
+                results.add(TokenIntrospectionResultDto.Result.builder().active(false).status("revoked").build());
+            } else {
+                results.add(TokenIntrospectionResultDto.Result.builder()
+                        .active(true)
+                        // 세션 종료는 참고 정보, 확인 실패(null)는 active
+                        .status(Boolean.FALSE.equals(sessionActive[i]) ? "session-ended" : "active")
+                        .sub(token.getSubject())
+                        .jti(token.getId())
+                        .sid(token.getSessionId())
+                        .roles(roleNames(token.getRoles()))
+                        .iat(token.getIssuedAt() == 0L ? null : token.getIssuedAt())
+                        .exp(token.getExpiresAt() == 0L ? null : token.getExpiresAt())
+                        .sessionActive(sessionActive[i])
+                        .build());
+            }
+        }
+        return results;
+    }
+
+    /*
+        첫 묶음을 제외한 나머지 묶음을 풀에 넣고 호출 스레드는 첫 묶음을 처리
+        각 작업은 배열의 서로 다른 구간에만 쓰며, Future.get()이 작업의 쓰기를 호출 스레드에 보이게 함
+     */
+    private void verifyAll(List<String> tokens, VerifiedToken[] verified, AuthMetrics.FailureReason[] failures) {
+        int size = tokens.size();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int start = chunkSize; start < size; start += chunkSize) {
+                int from = start;
+                int to = Math.min(size, start + chunkSize);
+                futures.add(executor.submit(() -> verifyRange(tokens, verified, failures, from, to)));
+            }
+        } catch (RejectedExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 잠시 후 다시 시도해 주세요.");
+        }
+        verifyRange(tokens, verified, failures, 0, Math.min(size, chunkSize));
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            for (Future<?> future : futures)
+                future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 잠시 후 다시 시도해 주세요.");
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "요청 처리가 중단되었습니다.");
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void verifyRange(List<String> tokens, VerifiedToken[] verified, AuthMetrics.FailureReason[] failures,
+                             int from, int to) {
+        for (int i = from; i < to; i++) {
+            String token = tokens.get(i);
+            if (token == null || token.isBlank()) {
+                failures[i] = AuthMetrics.FailureReason.ILLEGAL_ARGUMENT;
+                continue;
+            }
+            verified[i] = jwtTokenProvider.verify(token);
+            if (verified[i] == null) failures[i] = jwtTokenProvider.failureReason(token);
+        }
+    }
+
+    /*
+        유효한 토큰들의 폐기 여부와 세션 유효 여부를 한 번의 파이프라인으로 조회
+        사용자별 not-before 이전에 발급된 토큰은 로컬에서 바로 폐기로 판단
+        - EXISTS revoked:{jti}          : 블룸 필터가 "있을 수도 있다"고 답한 토큰만
+        - ZSCORE rs:{sub} sid           : score = 세션 만료 시각, legacy-read면 이전 정렬 집합도 함께 확인
+        redis 확인에 실패하면 TokenRevocationService.isRevoked()와 같이 폐기 확인 대상은 폐기된 것으로 보고, 세션 여부는 null
+     */
+    private void lookup(VerifiedToken[] verified, boolean[] revoked, Boolean[] sessionActive, long now) {
+        boolean legacyRead = refreshTokenStore.isLegacyRead();
+        boolean[] checkRevoked = new boolean[verified.length];
+        boolean[] checkSession = new boolean[verified.length];
+        int commands = 0;
+        for (int i = 0; i < verified.length; i++) {
+            VerifiedToken token = verified[i];
+            if (token == null) continue;
+            // 모든 기기 로그아웃 등으로 사용자 단위로 폐기된 토큰은 redis를 조회하지 않음
+            if (tokenRevocationService.isBeforeCutoff(token)) {
+                revoked[i] = true;
+                continue;
+            }
+            checkRevoked[i] = tokenRevocationService.mightBeRevoked(token.getId());
+            checkSession[i] = token.getSessionId() != null && token.getSubject() != null;
+            if (checkRevoked[i]) commands++;
+            if (checkSession[i]) commands += legacyRead ? 2 : 1;
+        }
+        if (commands == 0) return;
+
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < verified.length; i++) {
+                    VerifiedToken token = verified[i];
+                    if (checkRevoked[i])
+                        connection.keyCommands().exists(bytes(TokenRevocationService.revokedKey(token.getId())));
+                    if (checkSession[i]) {
+                        byte[] member = bytes(token.getSessionId());
+                        connection.zSetCommands().zScore(bytes(RefreshTokenStore.sessionsKey(token.getSubject())), member);
+                        if (legacyRead)
+                            connection.zSetCommands().zScore(
+                                    bytes(RefreshTokenStore.legacySessionsKey(token.getSubject())), member);
+                    }
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("introspection lookup failed: {} ({} commands)", e.getClass(), commands);
+            for (int i = 0; i < revoked.length; i++) revoked[i] |= checkRevoked[i];
+            return;
+        }
+
+        // 파이프라인 결과는 명령을 넣은 순서와 같음
+        int next = 0;
+        for (int i = 0; i < verified.length; i++) {
+            if (checkRevoked[i])
+                revoked[i] = Boolean.TRUE.equals(results.get(next++));
+            if (checkSession[i]) {
+                boolean alive = isAlive(results.get(next++), now);
+                if (legacyRead) alive |= isAlive(results.get(next++), now);
+                sessionActive[i] = alive;
+            }
+        }
+    }
+
+    private static boolean isAlive(Object score, long now) {
+        return score instanceof Number expiresAt && expiresAt.doubleValue() > now;
+    }
+
+    private static List<String> roleNames(int roles) {
+        List<String> names = new ArrayList<>(ROLES.length);
+        for (Role role : ROLES)
+            if ((roles & role.mask()) != 0) names.add(role.name());
+        return names;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
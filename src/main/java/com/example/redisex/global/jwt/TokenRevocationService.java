@@ -0,0 +1,221 @@
+package com.example.redisex.global.jwt;
+
+import com.example.redisex.global.cache.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+    access 토큰 폐기(로그아웃) 처리
+    - revoked:{jti}  : 폐기된 토큰 표시, TTL = 토큰의 남은 수명
+    - revoked-tokens : 정렬 집합, member = jti, score = 토큰 만료 시각(ms), 노드별 블룸 필터 동기화에 사용
+    - not-before     : 정렬 집합, member = 사용자 이름, score = 이 시각 이전에 발급된 access 토큰은 모두 무효(ms)
+                       (모든 기기 로그아웃, 비밀번호 변경, 회원 탈퇴 시 기록, access 토큰 수명이 지나면 정리)
+    요청마다 redis를 조회하지 않도록 각 노드는 로컬 블룸 필터와 사용자별 not-before 맵을 두고,
+    블룸 필터가 "있을 수도 있다"고 답한 경우에만 redis에서 확인
+ */
+@Slf4j
+@Component
+public class TokenRevocationService implements MessageListener {
+    public static final String REVOCATION_CHANNEL = "token-revocation";
+    public static final String NOT_BEFORE_CHANNEL = "token-not-before";
+    private static final String KEY_PREFIX = "revoked:";
+    private static final String INDEX_KEY = "revoked-tokens";
+    private static final String NOT_BEFORE_KEY = "not-before";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final long accessExpirationTime;
+    // 사용자 이름 -> not-before(ms), pub/sub과 주기적 동기화로 모든 노드가 같은 값을 가짐
+    private final Map<String, Long> notBefore = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloomFilter;
+    // 동기화(재구성) 중에 들어온 폐기 토큰을 새 필터에도 넣기 위한 참조
+    private volatile BloomFilter rebuilding;
+
+    public TokenRevocationService(
+            RedisTemplate<String, String> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${jwt.revocation.bloom.expected-insertions:100000}") int expectedInsertions,
+            @Value("${jwt.revocation.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${jwt.token.access-expiration-time}") long accessExpirationTime
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.accessExpirationTime = accessExpirationTime;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        // 다른 노드에서 폐기한 토큰과 not-before를 바로 로컬에 반영
+        listenerContainer.addMessageListener(this,
+                List.of(new ChannelTopic(REVOCATION_CHANNEL), new ChannelTopic(NOT_BEFORE_CHANNEL)));
+    }
+
+    // 토큰 폐기, 남은 수명 동안만 redis에 보관
+    public void revoke(VerifiedToken token) {
+        String jti = token.getId();
+        long remaining = token.getExpiresAt() - System.currentTimeMillis();
+        if (jti == null || remaining <= 0) return;
+
+        byte[] key = bytes(revokedKey(jti));
+        byte[] member = bytes(jti);
+        // SET + ZADD + PUBLISH를 한 번의 왕복으로 전송
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().set(key, bytes("1"),
+                    Expiration.from(remaining, TimeUnit.MILLISECONDS), RedisStringCommands.SetOption.upsert());
+            connection.zSetCommands().zAdd(bytes(INDEX_KEY), token.getExpiresAt(), member);
+            connection.publish(bytes(REVOCATION_CHANNEL), member);
+            return null;
+        });
+        add(jti);
+    }
+
+    /*
+        사용자의 지금까지 발급된 access 토큰을 모두 폐기 (모든 기기 로그아웃, 비밀번호 변경, 회원 탈퇴)
+        토큰은 밀리초 단위 발급 시각(iat_ms)을 가지므로 폐기 시각을 그대로 기준으로 삼아,
+        폐기 직후 다시 로그인해서 받은 토큰은 같은 초 안이라도 유효함
+        iat_ms가 없는 예전 토큰은 iat(초 단위로 잘림)로 비교하므로 같은 초에 발급된 것도 거절됨
+     */
+    public void revokeAllBefore(String username) {
+        long cutoff = System.currentTimeMillis();
+        // ZADD + PUBLISH를 한 번의 왕복으로 전송
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.zSetCommands().zAdd(bytes(NOT_BEFORE_KEY), cutoff, bytes(username));
+            connection.publish(bytes(NOT_BEFORE_CHANNEL), bytes(cutoff + ":" + username));
+            return null;
+        });
+        raiseNotBefore(username, cutoff);
+    }
+
+    /*
+        폐기된 토큰인지 확인 (개별 폐기 + 사용자별 not-before)
+        not-before는 로컬 맵에서만 확인하므로 redis 왕복이 없음
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        return isBeforeCutoff(token) || isRevoked(token.getId());
+    }
+
+    // iat가 사용자의 not-before보다 이르면 true (iat가 없는 토큰도 not-before가 있으면 거절)
+    boolean isBeforeCutoff(VerifiedToken token) {
+        if (token.getSubject() == null) return false;
+        Long cutoff = notBefore.get(token.getSubject());
+        return cutoff != null && token.getIssuedAt() < cutoff;
+    }
+
+    /*
+        폐기된 토큰인지 확인
+        대부분의 요청은 블룸 필터에서 바로 false가 되어 redis 왕복이 없음
+        redis 확인에 실패하면 안전하게 폐기된 것으로 간주
+     */
+    public boolean isRevoked(String jti) {
+        if (!mightBeRevoked(jti)) return false;
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(revokedKey(jti)));
+        } catch (DataAccessException e) {
+            log.warn("revocation lookup failed: {}", e.getClass());
+            return true;
+        }
+    }
+
+    // 블룸 필터만 확인, false면 폐기되지 않은 것이 확실함 (토큰 검사 API에서 redis 확인 대상을 고를 때 사용)
+    boolean mightBeRevoked(String jti) {
+        return jti != null && bloomFilter.mightContain(jti);
+    }
+
+    static String revokedKey(String jti) {
+        return KEY_PREFIX + jti;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!NOT_BEFORE_CHANNEL.equals(new String(message.getChannel(), StandardCharsets.UTF_8))) {
+            add(body);
+            return;
+        }
+        // "cutoff:username" (사용자 이름에 ':'가 있어도 첫 번째 ':'로 나눔)
+        int separator = body.indexOf(':');
+        if (separator <= 0) return;
+        try {
+            raiseNotBefore(body.substring(separator + 1), Long.parseLong(body.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            log.warn("invalid not-before message");
+        }
+    }
+
+    /*
+        블룸 필터는 삭제를 지원하지 않으므로 주기적으로 만료된 항목을 정리하고 필터를 새로 만듦
+        재구성 중 pub/sub으로 들어온 항목은 rebuilding 필터에도 넣어 누락되지 않도록 함
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:30000}")
+    public void sync() {
+        syncNotBefore();
+        try {
+            redisTemplate.opsForZSet().removeRangeByScore(INDEX_KEY, Double.NEGATIVE_INFINITY, System.currentTimeMillis());
+            Long size = redisTemplate.opsForZSet().zCard(INDEX_KEY);
+            BloomFilter next = new BloomFilter(
+                    (int) Math.max(expectedInsertions, size == null ? 0 : size * 2), falsePositiveRate);
+            rebuilding = next;
+            Set<String> revoked = redisTemplate.opsForZSet().range(INDEX_KEY, 0, -1);
+            if (revoked != null) revoked.forEach(next::add);
+            bloomFilter = next;
+        } catch (DataAccessException e) {
+            log.warn("revocation filter sync failed: {}", e.getClass());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    /*
+        not-before는 redis 값과 합치기만 하고(큰 값 유지), access 토큰 수명이 지난 항목만 지움
+        수명이 지나면 그 이전에 발급된 토큰은 이미 모두 만료되었으므로 더 확인할 필요가 없음
+     */
+    private void syncNotBefore() {
+        long expired = System.currentTimeMillis() - accessExpirationTime;
+        notBefore.values().removeIf(cutoff -> cutoff <= expired);
+        try {
+            redisTemplate.opsForZSet().removeRangeByScore(NOT_BEFORE_KEY, Double.NEGATIVE_INFINITY, expired);
+            Set<ZSetOperations.TypedTuple<String>> entries =
+                    redisTemplate.opsForZSet().rangeWithScores(NOT_BEFORE_KEY, 0, -1);
+            if (entries == null) return;
+            for (ZSetOperations.TypedTuple<String> entry : entries)
+                if (entry.getValue() != null && entry.getScore() != null)
+                    raiseNotBefore(entry.getValue(), entry.getScore().longValue());
+        } catch (DataAccessException e) {
+            log.warn("not-before sync failed: {}", e.getClass());
+        }
+    }
+
+    private void raiseNotBefore(String username, long cutoff) {
+        notBefore.merge(username, cutoff, Math::max);
+    }
+
+    // rebuilding을 먼저 읽어야 교체 직후에 들어온 항목도 새 필터에 반영됨
+    private void add(String jti) {
+        BloomFilter next = rebuilding;
+        bloomFilter.add(jti);
+        if (next != null) next.add(jti);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.redisex.global.jwt;
+
+import com.example.redisex.user.entity.Role;
+import io.jsonwebtoken.Claims;
+import lombok.Builder;
+import lombok.Getter;
+
+/*
+    서명 검증이 끝난 토큰에서 필요한 값만 추려 담는 불변 객체
+    Claims(Map)를 그대로 들고 다니지 않고 캐시에 가볍게 저장하기 위해 사용
+ */
+@Getter
+@Builder
+public class VerifiedToken {
+    private final String subject;
+    // jti
+    private final String id;
+    // 로그인 세션(기기) ID
+    private final String sessionId;
+    // epoch millis (iat_ms, 없으면 초 단위 iat), 값이 없으면 0
+    private final long issuedAt;
+    private final long expiresAt;
+    // Role 비트 묶음 (rl 클레임)
+    private final int roles;
+
+    public static VerifiedToken fromClaims(Claims claims) {
+        Integer roles = claims.get(JwtTokenProvider.ROLES_CLAIM, Integer.class);
+        Long issuedAtMillis = claims.get(JwtTokenProvider.ISSUED_AT_MILLIS_CLAIM, Long.class);
+        return VerifiedToken.builder()
+                .subject(claims.getSubject())
+                .id(claims.getId())
+                .sessionId(claims.get(JwtTokenProvider.SESSION_ID_CLAIM, String.class))
+                .issuedAt(issuedAtMillis != null ? issuedAtMillis
+                        : claims.getIssuedAt() == null ? 0L : claims.getIssuedAt().getTime())
+                .expiresAt(claims.getExpiration() == null ? 0L : claims.getExpiration().getTime())
+                // rl 클레임이 없는 예전 토큰은 기본 역할
+                .roles(roles == null ? Role.DEFAULT : roles)
+                .build();
+    }
+}
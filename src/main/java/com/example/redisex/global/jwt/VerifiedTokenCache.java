@@ -0,0 +1,56 @@
+package com.example.redisex.global.jwt;
+
+import com.example.redisex.global.cache.LocalTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/*
+    이미 서명 검증을 마친 토큰을 저장해 두는 캐시
+    같은 토큰이 다시 들어오면 HMAC 계산과 JSON 해석 없이 바로 결과를 돌려줌
+    토큰 원문 대신 SHA-256 해시를 키로 사용하고, 각 항목은 토큰의 exp 시각에 만료
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final boolean enabled;
+    private final LocalTtlCache<ByteBuffer, VerifiedToken> cache;
+
+    public VerifiedTokenCache(
+            @Value("${jwt.verify-cache.enabled:true}") boolean enabled,
+            @Value("${jwt.verify-cache.max-size:10000}") int maxSize
+    ) {
+        this.enabled = enabled;
+        this.cache = new LocalTtlCache<>(maxSize);
+    }
+
+    public VerifiedToken get(String token) {
+        if (!enabled) return null;
+        return cache.get(keyOf(token));
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        // 만료 시각이 없는 토큰은 언제 지워야 할지 알 수 없으므로 저장하지 않음
+        if (!enabled || verified.getExpiresAt() == 0L) return;
+        cache.put(keyOf(token), verified, verified.getExpiresAt());
+    }
+
+    public void evict(String token) {
+        cache.remove(keyOf(token));
+    }
+
+    private ByteBuffer keyOf(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
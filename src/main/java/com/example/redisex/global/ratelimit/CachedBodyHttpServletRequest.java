@@ -0,0 +1,105 @@
+package com.example.redisex.global.ratelimit;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/*
+    요청 본문을 미리 읽어 두고 뒤쪽 필터/컨트롤러에서도 다시 읽을 수 있게 해주는 래퍼
+    필터에서 로그인 요청의 사용자 이름을 꺼내기 위해 사용
+ */
+public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+    private final byte[] body;
+
+    public CachedBodyHttpServletRequest(HttpServletRequest request, byte[] body) {
+        super(request);
+        this.body = body;
+    }
+
+    // maxBytes보다 큰 본문이면 null 반환
+    public static byte[] readBody(HttpServletRequest request, int maxBytes) throws IOException {
+        byte[] body = request.getInputStream().readNBytes(maxBytes + 1);
+        return body.length > maxBytes ? null : body;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        return new CachedBodyInputStream(body);
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+
+    /*
+        본문이 이미 메모리에 있으므로 언제나 읽을 수 있음(isReady = true)
+        비동기 읽기(setReadListener)도 지원 : 등록 즉시 onDataAvailable, 끝까지 읽으면 onAllDataRead를 한 번 호출
+     */
+    private static final class CachedBodyInputStream extends ServletInputStream {
+        private final ByteArrayInputStream input;
+        private ReadListener readListener;
+        private boolean allDataRead;
+
+        private CachedBodyInputStream(byte[] body) {
+            this.input = new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return input.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            if (readListener == null) throw new NullPointerException("readListener");
+            if (this.readListener != null) throw new IllegalStateException("ReadListener is already set");
+            this.readListener = readListener;
+            try {
+                if (!isFinished()) readListener.onDataAvailable();
+                notifyIfFinished();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = input.read();
+            notifyIfFinished();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = input.read(b, off, len);
+            notifyIfFinished();
+            return n;
+        }
+
+        private void notifyIfFinished() throws IOException {
+            if (readListener == null || allDataRead || !isFinished()) return;
+            allDataRead = true;
+            readListener.onAllDataRead();
+        }
+    }
+}
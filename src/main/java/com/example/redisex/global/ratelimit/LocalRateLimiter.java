@@ -0,0 +1,48 @@
+package com.example.redisex.global.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    노드 단위로 1초 고정 창(fixed window) 요청 수를 세는 간단한 제한기
+    redis 왕복 없이 명백한 대량 요청을 먼저 걸러내는 용도라 정확도보다 비용을 우선함
+ */
+public class LocalRateLimiter {
+    // 키가 너무 많아지면 지난 창의 항목을 정리
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final int maxPerSecond;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    // 마지막으로 정리한 창(초), 초마다 한 스레드만 CAS로 정리를 맡아 전체 순회가 요청마다 반복되지 않게 함
+    private final AtomicLong lastCleanup = new AtomicLong();
+
+    public LocalRateLimiter(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    int size() {
+        return windows.size();
+    }
+
+    public boolean tryAcquire(String key) {
+        long second = System.currentTimeMillis() / 1000;
+        long cleaned = lastCleanup.get();
+        if (cleaned != second && windows.size() > CLEANUP_THRESHOLD && lastCleanup.compareAndSet(cleaned, second))
+            windows.values().removeIf(window -> window.second != second);
+
+        Window window = windows.compute(key, (k, current) ->
+                current == null || current.second != second ? new Window(second) : current);
+        return window.count.incrementAndGet() <= maxPerSecond;
+    }
+
+    private static final class Window {
+        private final long second;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Window(long second) {
+            this.second = second;
+        }
+    }
+}
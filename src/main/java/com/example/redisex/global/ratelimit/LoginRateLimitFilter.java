@@ -0,0 +1,116 @@
+package com.example.redisex.global.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/*
+    /users/login 요청 수를 IP별, 사용자 이름별로 제한하는 필터 (JwtTokenFilter보다 앞에서 실행)
+    1. 노드 로컬 1초 창으로 명백한 대량 요청을 redis 왕복 없이 차단
+    2. redis 토큰 버킷으로 모든 노드에 걸친 IP/사용자 이름별 제한 적용
+    제한을 넘으면 BCrypt 비교까지 가지 않고 429 + Retry-After로 응답
+ */
+@Slf4j
+@Component
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+    private static final String LOGIN_PATH = "/users/login";
+    // 로그인 요청 본문 최대 크기, 넘으면 사용자 이름을 읽지 않고 거절
+    private static final int MAX_BODY_BYTES = 4096;
+
+    private final RedisRateLimiter redisRateLimiter;
+    private final LocalRateLimiter localRateLimiter;
+    private final ObjectMapper objectMapper;
+
+    private final int ipCapacity;
+    private final double ipRefillPerMillis;
+    private final int userCapacity;
+    private final double userRefillPerMillis;
+
+    public LoginRateLimitFilter(
+            RedisRateLimiter redisRateLimiter,
+            ObjectMapper objectMapper,
+            @Value("${rate-limit.login.local.max-per-second:50}") int localMaxPerSecond,
+            @Value("${rate-limit.login.ip.capacity:20}") int ipCapacity,
+            @Value("${rate-limit.login.ip.refill-per-minute:20}") int ipRefillPerMinute,
+            @Value("${rate-limit.login.username.capacity:5}") int userCapacity,
+            @Value("${rate-limit.login.username.refill-per-minute:5}") int userRefillPerMinute
+    ) {
+        this.redisRateLimiter = redisRateLimiter;
+        this.localRateLimiter = new LocalRateLimiter(localMaxPerSecond);
+        this.objectMapper = objectMapper;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerMillis = ipRefillPerMinute / 60_000.0;
+        this.userCapacity = userCapacity;
+        this.userRefillPerMillis = userRefillPerMinute / 60_000.0;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !("POST".equals(request.getMethod())
+                && (request.getContextPath() + LOGIN_PATH).equals(request.getRequestURI()));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        // 프록시 뒤에 있다면 server.forward-headers-strategy 설정으로 실제 클라이언트 IP가 들어옴
+        String ip = request.getRemoteAddr();
+        if (!localRateLimiter.tryAcquire(ip)) {
+            reject(response, 1000L);
+            return;
+        }
+
+        byte[] body = CachedBodyHttpServletRequest.readBody(request, MAX_BODY_BYTES);
+        if (body == null) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+
+        List<RedisRateLimiter.Limit> limits = new ArrayList<>(2);
+        limits.add(new RedisRateLimiter.Limit("rate:login:ip:" + ip, ipCapacity, ipRefillPerMillis));
+        String username = extractUsername(body);
+        if (username != null)
+            limits.add(new RedisRateLimiter.Limit(
+                    "rate:login:user:" + username.toLowerCase(Locale.ROOT), userCapacity, userRefillPerMillis));
+
+        long retryAfterMillis = redisRateLimiter.tryAcquire(limits);
+        if (retryAfterMillis > 0) {
+            reject(response, retryAfterMillis);
+            return;
+        }
+        filterChain.doFilter(new CachedBodyHttpServletRequest(request, body), response);
+    }
+
+    private String extractUsername(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            return username == null || !username.isTextual() || username.asText().isBlank() ? null : username.asText();
+        } catch (IOException e) {
+            // 형식이 잘못된 본문은 컨트롤러의 검증에서 400으로 처리
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterMillis) throws IOException {
+        long seconds = Math.max(1L, (retryAfterMillis + 999) / 1000);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "로그인 시도가 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+    }
+}
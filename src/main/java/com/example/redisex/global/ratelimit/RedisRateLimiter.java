@@ -0,0 +1,91 @@
+package com.example.redisex.global.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/*
+    redis lua 스크립트로 구현한 분산 토큰 버킷
+    여러 버킷(IP, 사용자 이름 등)을 한 번의 파이프라인으로 확인하고, 모두 허용될 때만 요청을 통과시킴
+    버킷마다 스크립트를 따로 실행하므로 클러스터에서 키가 서로 다른 슬롯에 있어도 동작
+    스크립트 본문 대신 SHA만 보내고(EVALSHA), 서버에 스크립트가 없으면(NOSCRIPT) 한 번 등록한 뒤 다시 보냄
+ */
+@Slf4j
+@Component
+public class RedisRateLimiter {
+    private static final RedisScript<List> SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/rate-limit.lua"), List.class);
+    private static final byte[] SCRIPT_BYTES = bytes(SCRIPT.getScriptAsString());
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public RedisRateLimiter(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public record Limit(String key, int capacity, double refillPerMillis) {
+    }
+
+    /*
+        모든 버킷에서 토큰을 하나씩 꺼냄
+        반환값 : 0이면 허용, 0보다 크면 다시 시도할 수 있을 때까지 남은 시간(ms)
+        redis 장애 시에는 로그인 자체가 막히지 않도록 허용 (로컬 사전 제한은 계속 적용됨)
+     */
+    public long tryAcquire(List<Limit> limits) {
+        List<Object> results;
+        try {
+            try {
+                results = evalSha(limits);
+            } catch (DataAccessException e) {
+                if (!isNoScript(e)) throw e;
+                // redis 재시작, 장애 조치, SCRIPT FLUSH 이후 첫 요청만 해당
+                redisTemplate.execute((RedisCallback<String>) connection ->
+                        connection.scriptingCommands().scriptLoad(SCRIPT_BYTES));
+                results = evalSha(limits);
+            }
+        } catch (DataAccessException e) {
+            log.warn("rate limit check failed: {}", e.getClass());
+            return 0L;
+        }
+
+        long retryAfter = 0L;
+        for (Object result : results) {
+            List<?> values = (List<?>) result;
+            if (((Number) values.get(0)).longValue() == 0L)
+                retryAfter = Math.max(retryAfter, Math.max(1L, ((Number) values.get(1)).longValue()));
+        }
+        return retryAfter;
+    }
+
+    private List<Object> evalSha(List<Limit> limits) {
+        return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Limit limit : limits) {
+                connection.scriptingCommands().evalSha(
+                        SCRIPT.getSha1(), ReturnType.MULTI, 1,
+                        bytes(limit.key()),
+                        bytes(String.valueOf(limit.capacity())),
+                        bytes(String.valueOf(limit.refillPerMillis()))
+                );
+            }
+            return null;
+        });
+    }
+
+    private static boolean isNoScript(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause())
+            if (cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) return true;
+        return false;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
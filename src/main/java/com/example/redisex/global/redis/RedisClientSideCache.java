@@ -0,0 +1,145 @@
+package com.example.redisex.global.redis;
+
+import com.example.redisex.global.cache.LocalTtlCache;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateAdapter;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.support.caching.CacheAccessor;
+import io.lettuce.core.support.caching.CacheFrontend;
+import io.lettuce.core.support.caching.ClientSideCaching;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.net.SocketAddress;
+
+/*
+    RESP3 CLIENT TRACKING 기반 클라이언트 측 캐시 (문자열 GET 전용)
+    자주 읽는 키는 노드 로컬 LRU(LocalTtlCache)에서 바로 반환하고, 값이 바뀌면 redis가 invalidate 푸시를 보내 로컬 항목을 지움
+    - 추적 전용 연결 하나를 따로 열어 사용 (공유 연결/풀과 분리)
+    - 재연결되면 서버의 추적 상태가 사라지므로 로컬 항목을 모두 비우고 추적을 다시 켬
+    - ttl은 푸시를 놓쳤을 때를 대비한 안전장치
+    추적을 켜지 못했거나(redis 6 미만, cluster/sentinel) 조회 중 오류가 나면 일반 RedisTemplate으로 조회
+ */
+@Slf4j
+public class RedisClientSideCache implements AutoCloseable {
+    private final RedisTemplate<String, String> redisTemplate;
+    private final LocalTtlCache<String, String> entries;
+    private final long ttl;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+    private final Counter fallbacks;
+
+    private RedisClient client;
+    private StatefulRedisConnection<String, String> connection;
+    private volatile CacheFrontend<String, String> frontend;
+
+    public RedisClientSideCache(RedisTemplate<String, String> redisTemplate, MeterRegistry meterRegistry, int maxSize, long ttl) {
+        this.redisTemplate = redisTemplate;
+        this.entries = new LocalTtlCache<>(maxSize);
+        this.ttl = ttl;
+
+        this.hits = meterRegistry.counter("redis.client-cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("redis.client-cache.requests", "result", "miss");
+        this.invalidations = meterRegistry.counter("redis.client-cache.invalidations");
+        this.fallbacks = meterRegistry.counter("redis.client-cache.fallbacks");
+        Gauge.builder("redis.client-cache.hit.ratio", this, RedisClientSideCache::hitRatio)
+                .description("로컬에서 바로 반환한 비율")
+                .register(meterRegistry);
+        Gauge.builder("redis.client-cache.size", entries, LocalTtlCache::size).register(meterRegistry);
+        FunctionCounter.builder("redis.client-cache.evictions", entries, LocalTtlCache::evictionCount)
+                .register(meterRegistry);
+    }
+
+    /*
+        추적 연결을 열고 클라이언트 측 캐시를 켬, client는 RESP3 프로토콜로 설정되어 있어야 함
+        실패하면 client를 닫고 일반 조회로 동작
+     */
+    void enableTracking(RedisClient client) {
+        try {
+            client.addListener(new RedisConnectionStateAdapter() {
+                @Override
+                public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress address) {
+                    retrack(handler);
+                }
+            });
+            this.connection = client.connect(StringCodec.UTF8);
+            this.frontend = ClientSideCaching.enable(new Accessor(), connection, TrackingArgs.Builder.enabled());
+            this.client = client;
+            log.info("redis client-side caching enabled");
+        } catch (RedisException e) {
+            log.warn("redis client-side caching unavailable, falling back to RedisTemplate: {}", e.getMessage());
+            if (connection != null) connection.close();
+            connection = null;
+            client.shutdown();
+        }
+    }
+
+    public boolean isTracking() {
+        return frontend != null;
+    }
+
+    public String get(String key) {
+        CacheFrontend<String, String> current = frontend;
+        if (current != null) {
+            try {
+                return current.get(key);
+            } catch (RedisException e) {
+                fallbacks.increment();
+                log.debug("client-side cache read failed: {}", e.getClass());
+            }
+        }
+        return redisTemplate.opsForValue().get(key);
+    }
+
+    // 재연결 시 호출 (최초 연결 때는 connection이 아직 없으므로 무시)
+    private void retrack(RedisChannelHandler<?, ?> handler) {
+        StatefulRedisConnection<String, String> current = connection;
+        if (current == null || handler != current) return;
+        entries.clear();
+        current.async().clientTracking(TrackingArgs.Builder.enabled());
+    }
+
+    private double hitRatio() {
+        double hit = hits.count();
+        double total = hit + misses.count();
+        return total == 0 ? 0.0 : hit / total;
+    }
+
+    @Override
+    public void close() {
+        frontend = null;
+        if (connection != null) connection.close();
+        if (client != null) client.shutdown();
+    }
+
+    // ClientSideCaching이 사용하는 로컬 저장소, 조회 결과와 무효화 횟수를 기록
+    private class Accessor implements CacheAccessor<String, String> {
+        @Override
+        public String get(String key) {
+            String value = entries.get(key);
+            (value != null ? hits : misses).increment();
+            return value;
+        }
+
+        @Override
+        public void put(String key, String value) {
+            entries.put(key, value, System.currentTimeMillis() + ttl);
+        }
+
+        @Override
+        public void evict(String key) {
+            invalidations.increment();
+            entries.remove(key);
+        }
+    }
+}
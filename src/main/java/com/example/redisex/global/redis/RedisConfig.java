@@ -1,37 +1,168 @@
 package com.example.redisex.global.redis;
 
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.event.connection.ConnectionActivatedEvent;
+import io.lettuce.core.event.connection.ConnectionDeactivatedEvent;
+import io.lettuce.core.event.connection.ReconnectFailedEvent;
+import io.lettuce.core.metrics.MicrometerCommandLatencyRecorder;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.resource.ClientResources;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
 
 /*
     redis 를 효율적으로 사용하기 위해 Bean 들을 구성하는 클래스
  */
 
+@Slf4j
 @Configuration
 public class RedisConfig {
+    // pool 모드에서 commons-pool2가 등록하는 JMX 이름 접두사, RedisPoolMetrics에서 조회할 때 사용
+    static final String POOL_JMX_PREFIX = "redis-pool";
+
     @Value("${spring.data.redis.port}")
     private int port;
     @Value("${spring.data.redis.host}")
     private String host;
+    @Value("${spring.data.redis.password:}")
+    private String password;
+    @Value("${spring.data.redis.timeout:2s}")
+    private Duration commandTimeout;
+    @Value("${spring.data.redis.connect-timeout:1s}")
+    private Duration connectTimeout;
+    @Value("${spring.data.redis.lettuce.shutdown-timeout:100ms}")
+    private Duration shutdownTimeout;
+
+    // standalone | cluster | sentinel
+    @Value("${redis.topology:standalone}")
+    private String topology;
+    @Value("${spring.data.redis.cluster.nodes:}")
+    private String clusterNodes;
+    @Value("${spring.data.redis.sentinel.master:}")
+    private String sentinelMaster;
+    @Value("${spring.data.redis.sentinel.nodes:}")
+    private String sentinelNodes;
+
+    // shared : 하나의 멀티플렉싱 연결을 모든 스레드가 공유
+    // pooled : commons-pool2 연결 풀에서 연결을 빌려 사용 (트랜잭션/블로킹 명령이 많을 때)
+    @Value("${redis.client.mode:shared}")
+    private String mode;
+    // 0이면 Lettuce 기본값(CPU 코어 수) 사용
+    @Value("${redis.client.io-threads:0}")
+    private int ioThreads;
+    @Value("${redis.client.computation-threads:0}")
+    private int computationThreads;
+
+    // RESP3 추적 기반 클라이언트 측 캐시 (standalone에서만 사용 가능)
+    @Value("${redis.client-side-caching.enabled:false}")
+    private boolean clientSideCaching;
+    @Value("${redis.client-side-caching.max-size:10000}")
+    private int clientSideCacheMaxSize;
+    @Value("${redis.client-side-caching.ttl:60000}")
+    private long clientSideCacheTtl;
+
+    @Value("${spring.data.redis.lettuce.pool.max-active:8}")
+    private int poolMaxActive;
+    @Value("${spring.data.redis.lettuce.pool.max-idle:8}")
+    private int poolMaxIdle;
+    @Value("${spring.data.redis.lettuce.pool.min-idle:0}")
+    private int poolMinIdle;
+    @Value("${spring.data.redis.lettuce.pool.max-wait:-1ms}")
+    private Duration poolMaxWait;
+
+    // Lettuce의 IO/연산 스레드와 이벤트 버스를 가지는 공용 리소스
+    // 명령 지연 시간은 Micrometer로, 연결 이벤트는 카운터로 기록
+    @Bean(destroyMethod = "shutdown")
+    public ClientResources lettuceClientResources(MeterRegistry meterRegistry) {
+        ClientResources.Builder builder = ClientResources.builder()
+                .commandLatencyRecorder(new MicrometerCommandLatencyRecorder(meterRegistry, MicrometerOptions.create()));
+        if (ioThreads > 0) builder.ioThreadPoolSize(ioThreads);
+        if (computationThreads > 0) builder.computationThreadPoolSize(computationThreads);
+        ClientResources clientResources = builder.build();
+
+        Counter activated = meterRegistry.counter("redis.connection.events", "type", "activated");
+        Counter deactivated = meterRegistry.counter("redis.connection.events", "type", "deactivated");
+        Counter reconnectFailed = meterRegistry.counter("redis.connection.events", "type", "reconnect-failed");
+        clientResources.eventBus().get().subscribe(event -> {
+            if (event instanceof ConnectionActivatedEvent) activated.increment();
+            else if (event instanceof ConnectionDeactivatedEvent) deactivated.increment();
+            else if (event instanceof ReconnectFailedEvent) reconnectFailed.increment();
+        });
+        return clientResources;
+    }
 
     // Redis 서버와의 연결을 생성하는 Bean 정의 메서드
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    public LettuceConnectionFactory redisConnectionFactory(ClientResources clientResources) {
         // LettuceConnectionFactory 클래스를 사용하여 Redis 서버와 연결
         // Lettuce : redis 클라이언트 라이브러리 중 하나
-        return new LettuceConnectionFactory();
+        boolean pooled = "pooled".equalsIgnoreCase(mode);
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = pooled
+                ? LettucePoolingClientConfiguration.builder().poolConfig(poolConfig())
+                : LettuceClientConfiguration.builder();
+        LettuceClientConfiguration clientConfiguration = builder
+                .clientResources(clientResources)
+                .clientOptions(clientOptions())
+                .commandTimeout(commandTimeout)
+                .shutdownTimeout(shutdownTimeout)
+                .build();
+
+        LettuceConnectionFactory factory = switch (topology.toLowerCase()) {
+            case "cluster" -> {
+                RedisClusterConfiguration configuration = new RedisClusterConfiguration(split(clusterNodes));
+                if (!password.isEmpty()) configuration.setPassword(RedisPassword.of(password));
+                yield new LettuceConnectionFactory(configuration, clientConfiguration);
+            }
+            case "sentinel" -> {
+                RedisSentinelConfiguration configuration =
+                        new RedisSentinelConfiguration(sentinelMaster, new HashSet<>(split(sentinelNodes)));
+                if (!password.isEmpty()) configuration.setPassword(RedisPassword.of(password));
+                yield new LettuceConnectionFactory(configuration, clientConfiguration);
+            }
+            default -> {
+                RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(host, port);
+                if (!password.isEmpty()) configuration.setPassword(RedisPassword.of(password));
+                yield new LettuceConnectionFactory(configuration, clientConfiguration);
+            }
+        };
+        // pool 모드에서는 모든 명령이 풀에서 빌린 연결을 사용하도록 공유 연결을 끔
+        factory.setShareNativeConnection(!pooled);
+        return factory;
     }
 
     // Redis를 조작하기 위한 RedisTemlate의 Bean을 정의하는 메서드
     // RedisTemplate : CRUD 작업 및 다양한 Redis 명령을 실행하는데 사
     @Bean
-    public RedisTemplate<String, String> redisTemplate() {
+    public RedisTemplate<String, String> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
         RedisTemplate<String, String> redisTemplate = new RedisTemplate<>();
 
         // String 타입의 키와 값에 직렬화를 위해 StringRedisSerializer 설정
@@ -39,8 +170,92 @@ public class RedisConfig {
         redisTemplate.setKeySerializer(new StringRedisSerializer());
         redisTemplate.setValueSerializer(new StringRedisSerializer());
         // 앞서 정의한 redisConnectionFactory() 메서드에서 생성한 연결 팩토리 할당
-        redisTemplate.setConnectionFactory(redisConnectionFactory());
+        redisTemplate.setConnectionFactory(redisConnectionFactory);
 
         return redisTemplate;
     }
+
+    // redis pub/sub 메시지를 받기 위한 리스너 컨테이너 (캐시 무효화 전파 등에 사용)
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
+    }
+
+    /*
+        자주 읽는 키를 로컬에 두고 redis가 보내는 무효화 푸시로 갱신하는 캐시
+        꺼져 있거나 standalone이 아니거나 RESP3 추적을 켜지 못하면 redisTemplate으로 조회만 위임
+     */
+    @Bean(destroyMethod = "close")
+    public RedisClientSideCache redisClientSideCache(
+            RedisTemplate<String, String> redisTemplate,
+            ClientResources clientResources,
+            MeterRegistry meterRegistry
+    ) {
+        RedisClientSideCache cache = new RedisClientSideCache(
+                redisTemplate, meterRegistry, clientSideCacheMaxSize, clientSideCacheTtl);
+        if (!clientSideCaching) return cache;
+        if (!"standalone".equalsIgnoreCase(topology)) {
+            log.warn("redis client-side caching requires redis.topology=standalone, using RedisTemplate");
+            return cache;
+        }
+
+        RedisURI.Builder uri = RedisURI.builder()
+                .withHost(host)
+                .withPort(port)
+                .withTimeout(commandTimeout);
+        if (!password.isEmpty()) uri.withPassword(password.toCharArray());
+        RedisClient client = RedisClient.create(clientResources, uri.build());
+        client.setOptions(clientOptions().mutate().protocolVersion(ProtocolVersion.RESP3).build());
+        cache.enableTracking(client);
+        return cache;
+    }
+
+    // 클라이언트 측 타임아웃: 연결 타임아웃 + 명령 타임아웃, 연결이 끊긴 동안에는 명령을 쌓지 않고 바로 실패
+    private ClientOptions clientOptions() {
+        SocketOptions socketOptions = SocketOptions.builder()
+                .connectTimeout(connectTimeout)
+                .keepAlive(true)
+                .build();
+        TimeoutOptions timeoutOptions = TimeoutOptions.enabled(commandTimeout);
+        if ("cluster".equalsIgnoreCase(topology)) {
+            // 클러스터 토폴로지 변경(MOVED/ASK, 페일오버)을 주기적 + 이벤트 기반으로 갱신
+            return ClusterClientOptions.builder()
+                    .socketOptions(socketOptions)
+                    .timeoutOptions(timeoutOptions)
+                    .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                    .topologyRefreshOptions(ClusterTopologyRefreshOptions.builder()
+                            .enablePeriodicRefresh(Duration.ofSeconds(30))
+                            .enableAllAdaptiveRefreshTriggers()
+                            .build())
+                    .build();
+        }
+        return ClientOptions.builder()
+                .socketOptions(socketOptions)
+                .timeoutOptions(timeoutOptions)
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .build();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private GenericObjectPoolConfig poolConfig() {
+        GenericObjectPoolConfig config = new GenericObjectPoolConfig();
+        config.setMaxTotal(poolMaxActive);
+        config.setMaxIdle(poolMaxIdle);
+        config.setMinIdle(poolMinIdle);
+        config.setMaxWait(poolMaxWait);
+        // min-idle 유지를 위해 evictor 실행 주기 설정
+        config.setTimeBetweenEvictionRuns(Duration.ofSeconds(30));
+        config.setJmxEnabled(true);
+        config.setJmxNamePrefix(POOL_JMX_PREFIX);
+        return config;
+    }
+
+    private static List<String> split(String hostAndPorts) {
+        return Arrays.stream(hostAndPorts.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
 }
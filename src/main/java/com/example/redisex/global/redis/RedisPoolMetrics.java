@@ -0,0 +1,48 @@
+package com.example.redisex.global.redis;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/*
+    pool 모드일 때 redis 연결 풀의 포화 상태를 Micrometer 게이지로 노출
+    LettuceConnectionFactory가 내부 풀을 외부에 공개하지 않으므로 commons-pool2가 등록하는 JMX MBean을 읽음
+    풀은 처음 연결을 빌릴 때 만들어지므로 값을 읽는 시점마다 MBean을 조회하여 합산
+ */
+@Component
+public class RedisPoolMetrics implements MeterBinder {
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "redis.pool.active", "NumActive", "빌려 간 연결 수");
+        gauge(registry, "redis.pool.idle", "NumIdle", "풀에서 대기 중인 연결 수");
+        gauge(registry, "redis.pool.waiters", "NumWaiters", "연결을 기다리는 스레드 수");
+        gauge(registry, "redis.pool.borrow.wait.max", "MaxBorrowWaitTimeMillis", "연결 대여 최대 대기 시간(ms)");
+    }
+
+    private void gauge(MeterRegistry registry, String name, String attribute, String description) {
+        Gauge.builder(name, () -> sum(attribute))
+                .description(description)
+                .register(registry);
+    }
+
+    private double sum(String attribute) {
+        double total = 0;
+        try {
+            ObjectName pattern = new ObjectName(
+                    "org.apache.commons.pool2:type=GenericObjectPool,name=" + RedisConfig.POOL_JMX_PREFIX + "*");
+            for (ObjectName name : mBeanServer.queryNames(pattern, null)) {
+                total += ((Number) mBeanServer.getAttribute(name, attribute)).doubleValue();
+            }
+        } catch (Exception e) {
+            return Double.NaN;
+        }
+        return total;
+    }
+}
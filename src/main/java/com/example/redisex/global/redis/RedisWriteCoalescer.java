@@ -0,0 +1,259 @@
+package com.example.redisex.global.redis;
+
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+    여러 스레드의 redis 쓰기를 모아 한 번의 왕복으로 전송
+    로그인이 몰릴 때 요청마다 따로 왕복하던 쓰기(refresh 토큰 저장 등)를 한 번의 왕복으로 묶음
+    - 전용 스레드 하나가 대기열에서 쓰기를 꺼내, max-batch-size개가 모이거나 첫 쓰기 후 max-delay-micros가 지나면 전송
+    - 묶음의 명령은 Lettuce 비동기 명령으로 응답을 기다리지 않고 연달아 보낸 뒤(파이프라이닝) 응답을 한 번에 기다림
+    - 전송(왕복) 중에 들어온 쓰기는 다음 묶음에 들어가므로 부하가 클수록 묶음이 커짐
+    - 호출자마다 완료 future를 받고, ACK이면 응답까지 기다리고 FIRE_AND_FORGET이면 바로 반환
+    - 쓰기마다 자기 명령의 응답만으로 완료/실패가 정해짐 (같은 묶음의 다른 쓰기가 오류 응답을 받아도 영향 없음)
+    RedisTemplate.executePipelined는 Lettuce에서 오류 응답이 하나라도 있으면 결과 없이 묶음 전체를 실패시키므로 쓰지 않음
+    대기열이 가득 차면 호출 스레드에서 바로 실행 (쓰기를 잃지 않도록)
+ */
+@Slf4j
+@Component
+public class RedisWriteCoalescer implements DisposableBean {
+    private final RedisTemplate<String, String> redisTemplate;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Duration ackTimeout;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final DistributionSummary batchSize;
+    private final Counter failures;
+    private final Counter overflows;
+
+    // ACK : redis 응답까지 기다림, FIRE_AND_FORGET : 대기열에 넣고 바로 반환 (실패는 로그와 지표로만 확인)
+    public enum Durability {
+        ACK, FIRE_AND_FORGET;
+
+        public static Durability parse(String value) {
+            return "fire-and-forget".equalsIgnoreCase(value) ? FIRE_AND_FORGET : ACK;
+        }
+    }
+
+    /*
+        쓰기 하나, 명령을 넣고 각 명령의 future를 모두 반환
+        명령 중 하나라도 오류 응답이면 이 쓰기가 실패
+     */
+    @FunctionalInterface
+    public interface Operation {
+        List<RedisFuture<?>> apply(RedisClusterAsyncCommands<byte[], byte[]> commands);
+    }
+
+    private record PendingWrite(Operation operation, CompletableFuture<Void> future) {
+    }
+
+    public RedisWriteCoalescer(
+            RedisTemplate<String, String> redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${redis.write-coalescing.enabled:true}") boolean enabled,
+            @Value("${redis.write-coalescing.max-batch-size:64}") int maxBatchSize,
+            @Value("${redis.write-coalescing.max-delay-micros:100}") long maxDelayMicros,
+            @Value("${redis.write-coalescing.queue-capacity:10000}") int queueCapacity,
+            @Value("${spring.data.redis.timeout:2s}") Duration ackTimeout
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelayMicros);
+        this.ackTimeout = ackTimeout;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        this.batchSize = DistributionSummary.builder("redis.write.batch.size")
+                .description("파이프라인 한 번에 묶인 쓰기 수")
+                .register(meterRegistry);
+        this.failures = meterRegistry.counter("redis.write.failures");
+        this.overflows = meterRegistry.counter("redis.write.overflows");
+        Gauge.builder("redis.write.queue", queue, BlockingQueue::size).register(meterRegistry);
+
+        this.flusher = new Thread(this::run, "redis-write-coalescer");
+        this.flusher.setDaemon(true);
+        if (enabled) this.flusher.start();
+    }
+
+    /*
+        쓰기 예약, operation은 명령만 넣고 응답을 기다리면 안 됨 (전용 스레드에서 실행됨)
+        반환된 future는 이 쓰기의 명령이 모두 redis에서 처리되면 완료, 오류 응답이 있으면 그 오류로 실패
+     */
+    public CompletableFuture<Void> submit(Operation operation) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (!enabled || !running || !queue.offer(new PendingWrite(operation, future))) {
+            if (enabled && running) overflows.increment();
+            flush(List.of(new PendingWrite(operation, future)));
+        }
+        return future;
+    }
+
+    // durability에 따라 응답을 기다리거나 바로 반환, ACK일 때 실패하면 DataAccessException
+    public void write(Operation operation, Durability durability) {
+        CompletableFuture<Void> future = submit(operation);
+        if (durability == Durability.FIRE_AND_FORGET) return;
+        try {
+            future.get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("redis write not acknowledged within " + ackTimeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RedisSystemException("interrupted while waiting for redis write", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DataAccessException dataAccessException) throw dataAccessException;
+            throw new RedisSystemException("redis write failed", e.getCause());
+        }
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingWrite first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                // 이미 쌓여 있는 쓰기를 먼저 꺼내고, 모자라면 마감 시각까지 기다림
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                // destroy()에서 중단, 모으던 묶음은 보내고 대기열에 남은 쓰기는 destroy()가 처리
+                flush(batch);
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /*
+        묶음의 명령을 연달아 보내고 응답을 기다린 뒤, 쓰기마다 자기 응답으로 완료/실패 처리
+        명령을 넣는 중에 예외가 난 쓰기만 따로 실패 처리하고, 연결을 얻지 못하면 묶음 전체를 실패 처리
+        호출자의 후속 작업이 Lettuce I/O 스레드에서 돌지 않도록 future 완료는 이 스레드에서 함
+     */
+    @SuppressWarnings("unchecked")
+    private void flush(List<PendingWrite> batch) {
+        if (batch.isEmpty()) return;
+        try {
+            redisTemplate.execute((RedisCallback<Object>) connection -> {
+                RedisClusterAsyncCommands<byte[], byte[]> commands =
+                        (RedisClusterAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+                List<PendingWrite> sent = new ArrayList<>(batch.size());
+                List<CompletableFuture<Void>> replies = new ArrayList<>(batch.size());
+                for (PendingWrite write : batch) {
+                    try {
+                        replies.add(CompletableFuture.allOf(write.operation().apply(commands).stream()
+                                .map(RedisFuture::toCompletableFuture)
+                                .toArray(CompletableFuture[]::new)));
+                        sent.add(write);
+                    } catch (RuntimeException e) {
+                        fail(write, e);
+                    }
+                }
+                // 풀 모드에서는 연결을 돌려주기 전에 응답을 모두 받아야 함
+                awaitAll(replies);
+                batchSize.record(sent.size());
+                for (int i = 0; i < sent.size(); i++) complete(sent.get(i), replies.get(i));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("redis write batch failed: {} ({} writes)", e.getClass(), batch.size());
+            batch.stream().filter(write -> !write.future().isDone()).forEach(write -> fail(write, e));
+        }
+    }
+
+    // ackTimeout 안에서 모든 응답을 기다림, 중단 요청(destroy)이 와도 보낸 쓰기의 응답은 기다림
+    private void awaitAll(List<CompletableFuture<Void>> replies) {
+        long deadline = System.nanoTime() + ackTimeout.toNanos();
+        boolean interrupted = false;
+        for (CompletableFuture<Void> reply : replies) {
+            while (!reply.isDone()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) break;
+                try {
+                    reply.get(remaining, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException | TimeoutException e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void complete(PendingWrite write, CompletableFuture<Void> reply) {
+        if (!reply.isDone()) {
+            fail(write, new QueryTimeoutException("redis write not acknowledged within " + ackTimeout));
+            return;
+        }
+        try {
+            reply.join();
+            write.future().complete(null);
+        } catch (CompletionException e) {
+            fail(write, translate(e.getCause()));
+        } catch (CancellationException e) {
+            fail(write, new RedisSystemException("redis write cancelled", e));
+        }
+    }
+
+    private static RuntimeException translate(Throwable e) {
+        if (e instanceof DataAccessException dataAccessException) return dataAccessException;
+        if (e instanceof RedisCommandTimeoutException) return new QueryTimeoutException(e.getMessage(), e);
+        return new RedisSystemException("redis write failed: " + e.getMessage(), e);
+    }
+
+    private void fail(PendingWrite write, RuntimeException e) {
+        failures.increment();
+        write.future().completeExceptionally(e);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(ackTimeout.toMillis());
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) flush(remaining);
+    }
+}
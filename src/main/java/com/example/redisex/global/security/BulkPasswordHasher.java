@@ -0,0 +1,111 @@
+package com.example.redisex.global.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    대량 등록용 BCrypt 해시 (PasswordHashingExecutor와 별도의 스레드 풀)
+    수천 개의 해시가 로그인 풀의 대기열을 채워 로그인이 503이 되지 않도록 풀을 나누고,
+    기본 크기를 CPU 코어의 절반으로 두어 로그인 해시에 쓸 CPU를 남겨 둠
+    요청 하나는 스레드 수만큼의 묶음으로 나뉘어 실행되고, 대기열이 가득 차면(동시 등록이 많으면) 503
+ */
+@Component
+public class BulkPasswordHasher implements DisposableBean {
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final long timeoutMillis;
+    private final Counter rejected;
+
+    public BulkPasswordHasher(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${security.password.bulk.pool-size:0}") int poolSize,
+            @Value("${security.password.bulk.queue-capacity:16}") int queueCapacity,
+            @Value("${security.password.bulk.timeout:600000}") long timeoutMillis
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        // 0이면 CPU 코어 수의 절반 (최소 1)
+        this.threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-bulk-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        new ExecutorServiceMetrics(executor, "password.hash.bulk", Tags.empty()).bindTo(meterRegistry);
+        this.rejected = meterRegistry.counter("password.hash.bulk.rejected");
+    }
+
+    // 입력 순서대로 해시를 반환
+    public List<String> encodeAll(List<String> rawPasswords) {
+        int size = rawPasswords.size();
+        String[] encoded = new String[size];
+        int chunks = Math.min(threads, size);
+        List<Future<?>> futures = new ArrayList<>(chunks);
+        try {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int from = (int) ((long) size * chunk / chunks);
+                int to = (int) ((long) size * (chunk + 1) / chunks);
+                futures.add(executor.submit(() -> {
+                    for (int i = from; i < to && !Thread.currentThread().isInterrupted(); i++)
+                        encoded[i] = passwordEncoder.encode(rawPasswords.get(i));
+                }));
+            }
+        } catch (RejectedExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "다른 대량 등록이 진행 중입니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            for (Future<?> future : futures)
+                future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "비밀번호 해시가 제한 시간 안에 끝나지 않았습니다.");
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "요청 처리가 중단되었습니다.");
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        }
+        return Arrays.asList(encoded);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.redisex.global.security;
+
+import com.example.redisex.global.redis.RedisWriteCoalescer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/*
+    계정별 로그인 실패 횟수와 잠금 상태를 redis에 저장
+    - login-fail:{username} : 실패 횟수, 마지막 실패 후 window 동안 유지
+    - login-lock:{username} : 잠금 표시, TTL = 남은 잠금 시간
+    max-failures번 실패하면 lock-base만큼 잠그고, 이후 실패할 때마다 잠금 시간을 두 배로 늘림 (최대 lock-max)
+    실패 기록과 잠금은 login-failure.lua 하나로 원자적으로 처리
+    잠금 확인은 BCrypt 비교 전에 하므로 잠긴 계정에 대한 시도는 해시 비용이 들지 않음
+    redis 장애 시에는 로그인을 막지 않음 (요청 수 제한 필터는 계속 적용됨)
+ */
+@Slf4j
+@Component
+public class LoginAttemptService {
+    private static final RedisScript<Long> FAILURE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/login-failure.lua"), Long.class);
+    private static final RedisSerializer<Long> RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisWriteCoalescer writeCoalescer;
+    private final int maxFailures;
+    private final long window;
+    private final long lockBase;
+    private final long lockMax;
+    private final Counter lockouts;
+
+    // failures : 현재 실패 횟수, lockedUntil : 잠금 해제 시각(ms), 잠기지 않았으면 0
+    public record AttemptState(long failures, long lockedUntil) {
+        public static final AttemptState NONE = new AttemptState(0L, 0L);
+
+        public boolean locked() {
+            return lockedUntil > System.currentTimeMillis();
+        }
+    }
+
+    public LoginAttemptService(
+            RedisTemplate<String, String> redisTemplate,
+            RedisWriteCoalescer writeCoalescer,
+            MeterRegistry meterRegistry,
+            @Value("${security.login-attempts.max-failures:5}") int maxFailures,
+            @Value("${security.login-attempts.window:900000}") long window,
+            @Value("${security.login-attempts.lock-base:30000}") long lockBase,
+            @Value("${security.login-attempts.lock-max:900000}") long lockMax
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.writeCoalescer = writeCoalescer;
+        this.maxFailures = maxFailures;
+        this.window = window;
+        this.lockBase = lockBase;
+        this.lockMax = lockMax;
+        this.lockouts = meterRegistry.counter("login.lockouts");
+    }
+
+    // 잠금 남은 시간과 실패 횟수를 한 번의 왕복으로 조회
+    public AttemptState state(String username) {
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.keyCommands().pTtl(bytes(lockKey(username)));
+                connection.stringCommands().get(bytes(failKey(username)));
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("login attempt lookup failed: {}", e.getClass());
+            return AttemptState.NONE;
+        }
+        long lockTtl = results.get(0) == null ? -2L : ((Number) results.get(0)).longValue();
+        Object failures = results.get(1);
+        return new AttemptState(
+                failures == null ? 0L : Long.parseLong(failures.toString()),
+                lockTtl > 0 ? System.currentTimeMillis() + lockTtl : 0L);
+    }
+
+    /*
+        실패 기록 : 횟수 증가, 임계값 확인, 잠금 설정을 lua 스크립트 하나로 처리
+        동시에 들어온 실패들이 각자 읽은 횟수로 잠금 시간을 덮어쓰지 않도록 redis 안에서 원자적으로 실행
+        임계값에 도달하면 잠금 해제 시각을 반환, 아니면 0
+     */
+    public long recordFailure(String username) {
+        try {
+            Long duration = redisTemplate.execute(
+                    FAILURE_SCRIPT,
+                    RedisSerializer.string(),
+                    RESULT_SERIALIZER,
+                    List.of(failKey(username), lockKey(username)),
+                    Long.toString(window),
+                    Integer.toString(maxFailures),
+                    Long.toString(lockBase),
+                    Long.toString(lockMax));
+            if (duration == null || duration <= 0L) return 0L;
+            lockouts.increment();
+            return System.currentTimeMillis() + duration;
+        } catch (DataAccessException e) {
+            log.warn("login attempt record failed: {}", e.getClass());
+            return 0L;
+        }
+    }
+
+    // 로그인 성공 시 실패 기록 삭제, 응답을 기다리지 않음 (실패해도 window가 지나면 사라짐)
+    public void reset(String username) {
+        byte[] key = bytes(failKey(username));
+        writeCoalescer.submit(commands -> List.of(commands.del(key)))
+                .exceptionally(e -> {
+                    log.warn("login attempt reset failed: {}", e.getClass());
+                    return null;
+                });
+    }
+
+    // {username} 해시 태그로 두 키를 클러스터에서도 같은 슬롯에 배치
+    private static String failKey(String username) {
+        return "login-fail:{" + username + "}";
+    }
+
+    private static String lockKey(String username) {
+        return "login-lock:{" + username + "}";
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
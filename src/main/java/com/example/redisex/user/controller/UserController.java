@@ -1,15 +1,32 @@
 package com.example.redisex.user.controller;
 
 import com.example.redisex.global.jwt.JwtTokenDto;
+import com.example.redisex.user.dto.ChangePasswordDto;
+import com.example.redisex.user.dto.CustomUserDetails;
+import com.example.redisex.user.dto.JoinDto;
 import com.example.redisex.user.dto.LoginDto;
+import com.example.redisex.user.dto.RefreshTokenDto;
+import com.example.redisex.user.dto.SessionPageDto;
+import com.example.redisex.user.dto.UserImportDto;
+import com.example.redisex.user.dto.UserImportResultDto;
 import com.example.redisex.user.service.UserService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 @Slf4j
 @RestController
@@ -18,9 +35,64 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController {
     private final UserService service;
 
+    @PostMapping("/signup")
+    @ResponseStatus(HttpStatus.CREATED)
+    public void signup(@RequestBody @Valid JoinDto request) {
+        service.signup(request);
+    }
+
+    // 관리자 전용 (WebSecurityConfig)
+    @PostMapping("/import")
+    public UserImportResultDto importUsers(@RequestBody @Valid UserImportDto request) {
+        return service.importUsers(request);
+    }
+
+    @PutMapping("/password")
+    public void changePassword(@RequestBody @Valid ChangePasswordDto request) {
+        service.changePassword(request.getOldPassword(), request.getNewPassword());
+    }
+
+    // 회원 탈퇴
+    @DeleteMapping("/me")
+    public void deleteMe(@AuthenticationPrincipal CustomUserDetails user) {
+        if (user == null)
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
+        service.deleteUser(user.getUsername());
+    }
+
     @PostMapping("/login")
     public JwtTokenDto login(@RequestBody @Valid LoginDto request) {
         return service.login(request);
     }
 
+    @PostMapping("/refresh")
+    public JwtTokenDto refresh(@RequestBody @Valid RefreshTokenDto request) {
+        return service.refresh(request);
+    }
+
+    @PostMapping("/logout")
+    public void logout(Authentication authentication) {
+        service.logout(authentication);
+    }
+
+    @GetMapping("/sessions")
+    public SessionPageDto sessions(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return service.sessions(user, page, size);
+    }
+
+    @DeleteMapping("/sessions/{sessionId}")
+    public void revokeSession(@AuthenticationPrincipal CustomUserDetails user, @PathVariable String sessionId) {
+        service.revokeSession(user, sessionId);
+    }
+
+    // 모든 기기에서 로그아웃
+    @DeleteMapping("/sessions")
+    public void revokeAllSessions(@AuthenticationPrincipal CustomUserDetails user) {
+        service.revokeAllSessions(user);
+    }
+
 }
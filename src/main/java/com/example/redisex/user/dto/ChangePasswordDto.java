@@ -0,0 +1,15 @@
+package com.example.redisex.user.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Getter;
+
+@Getter
+public class ChangePasswordDto {
+    @NotBlank(message = "현재 비밀번호 입력은 필수입니다.")
+    private String oldPassword;
+
+    @NotBlank(message = "새 비밀번호 입력은 필수입니다.")
+    @Pattern(regexp = "^(?=.*[a-zA-z])(?=.*[0-9])(?=.*[`~₩!@#$%^&*]).{8,20}$", message = "비밀번호는 영문 숫자 특수문자를 모두 포함해야 합니다 | 사용 가능 문자 : 영대소문자, 숫자, 특수문자 (`~₩!@#$%^&*) | 글자수 제한 : 최소 8자에서 20자")
+    private String newPassword;
+}
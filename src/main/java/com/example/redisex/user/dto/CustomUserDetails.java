@@ -1,20 +1,60 @@
 package com.example.redisex.user.dto;
 
+import com.example.redisex.user.entity.Role;
 import com.example.redisex.user.entity.UserEntity;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Builder;
-import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.function.Function;
 
-@Getter
-@Builder
+// redis 캐시에서 역직렬화할 때 accountNonExpired 등 계산 속성은 무시
+// 비밀번호 해시는 redis에 쓰지 않고, 예전에 저장된 값에 있어도 읽지 않음
+@JsonIgnoreProperties(value = "password", ignoreUnknown = true)
 public class CustomUserDetails implements UserDetails {
-    private String username;
+    private final String username;
     private String password;
     private String email;
     private String phone;
+    // Role 비트 묶음 (토큰의 rl 클레임과 같은 값)
+    private final int roles;
+    /*
+        lazy()로 만든 경우 username 외의 값은 처음 읽을 때 loader로 한 번만 채움
+        요청 하나 안에서만 쓰이는 객체라 동기화하지 않음
+     */
+    private transient Function<String, CustomUserDetails> loader;
+    // 로그인 실패로 잠긴 경우 잠금 해제 시각(ms), 캐시에는 저장하지 않음
+    private transient long lockedUntil;
+
+    @Builder
+    @Jacksonized
+    public CustomUserDetails(String username, String password, String email, String phone, Integer roles) {
+        this.username = username;
+        this.password = password;
+        this.email = email;
+        this.phone = phone;
+        // 역할 정보 없이 캐시된 예전 값은 기본 역할로 취급
+        this.roles = roles == null ? Role.DEFAULT : roles;
+    }
+
+    private CustomUserDetails(String username, int roles, Function<String, CustomUserDetails> loader) {
+        this.username = username;
+        this.roles = roles;
+        this.loader = loader;
+    }
+
+    /*
+        토큰의 클레임(사용자 이름, 역할)만으로 만드는 principal
+        사용자 이름/권한만 쓰는 API는 캐시/DB 조회와 추가 할당 없이 처리되고,
+        email 등이 필요하면 그때 loader(UserDetailsCache -> DB)로 조회
+     */
+    public static CustomUserDetails lazy(String username, int roles, Function<String, CustomUserDetails> loader) {
+        return new CustomUserDetails(username, roles, loader);
+    }
 
     public static CustomUserDetails fromEntity(UserEntity user) {
         return CustomUserDetails.builder()
@@ -22,6 +62,17 @@ public class CustomUserDetails implements UserDetails {
                 .password(user.getPassword())
                 .email(user.getEmail())
                 .phone(user.getPhone())
+                .roles(user.getRoles())
+                .build();
+    }
+
+    // 비밀번호를 뺀 사용자 정보 (UserDetailsCache에 저장하는 값)
+    public static CustomUserDetails profileOf(UserEntity user) {
+        return CustomUserDetails.builder()
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .phone(user.getPhone())
+                .roles(user.getRoles())
                 .build();
     }
 
@@ -34,16 +85,54 @@ public class CustomUserDetails implements UserDetails {
                 .build();
     }
 
+    // 캐시의 인스턴스는 여러 요청이 공유하므로 잠금 정보는 복사본에만 넣음
+    public CustomUserDetails withLockedUntil(long lockedUntil) {
+        CustomUserDetails copy = new CustomUserDetails(username, getPassword(), getEmail(), getPhone(), roles);
+        copy.lockedUntil = lockedUntil;
+        return copy;
+    }
+
+    @JsonIgnore
+    public long getLockedUntil() {
+        return lockedUntil;
+    }
+
+    private void hydrate() {
+        Function<String, CustomUserDetails> loader = this.loader;
+        if (loader == null) return;
+        CustomUserDetails loaded = loader.apply(username);
+        this.password = loaded.getPassword();
+        this.email = loaded.getEmail();
+        this.phone = loaded.getPhone();
+        this.loader = null;
+    }
+
+    public int getRoles() {
+        return roles;
+    }
+
+    // 역할 조합별로 미리 만들어 둔 불변 목록을 공유
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return null;
+        return Role.authorities(roles);
     }
 
     @Override
     public String getPassword() {
+        hydrate();
         return this.password;
     }
 
+    public String getEmail() {
+        hydrate();
+        return this.email;
+    }
+
+    public String getPhone() {
+        hydrate();
+        return this.phone;
+    }
+
     @Override
     public String getUsername() {
         return this.username;
@@ -56,7 +145,7 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        return true;
+        return lockedUntil <= System.currentTimeMillis();
     }
 
     @Override
@@ -1,6 +1,7 @@
 package com.example.redisex.user.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import lombok.Getter;
 import lombok.ToString;
 
@@ -11,4 +12,7 @@ public class LoginDto {
     private String username;
     @NotBlank(message = "비밀번호 입력은 필수입니다.")
     private String password;
+    // 선택 입력, 같은 기기에서 다시 로그인하면 기존 세션을 덮어씀 (없으면 새 세션 생성)
+    @Pattern(regexp = "^[A-Za-z0-9_-]{1,64}$", message = "기기 ID 형식이 잘못되었습니다.")
+    private String deviceId;
 }
@@ -0,0 +1,10 @@
+package com.example.redisex.user.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+
+@Getter
+public class RefreshTokenDto {
+    @NotBlank(message = "refresh 토큰 입력은 필수입니다.")
+    private String refreshToken;
+}
@@ -0,0 +1,30 @@
+package com.example.redisex.user.dto;
+
+/*
+    회원가입(JoinDto)과 관리자 대량 등록(UserImportDto)이 함께 쓰는 입력 형식
+    두 경로가 같은 규칙으로 검사되도록 정규식과 메시지를 한 곳에 둠
+ */
+public final class UserConstraints {
+    public static final String USERNAME = "[a-z][a-z0-9]{5,14}$";
+    public static final String USERNAME_MESSAGE = "아이디는 소문자로만 시작 가능합니다 | 사용 가능 문자 : 영소문자, 숫자 | 글자수 제한 : 최소 6자에서 15자";
+
+    private static final String RAW_PASSWORD = "(?=.*[a-zA-z])(?=.*[0-9])(?=.*[`~₩!@#$%^&*]).{8,20}";
+    public static final String PASSWORD = "^" + RAW_PASSWORD + "$";
+    public static final String PASSWORD_MESSAGE = "비밀번호는 영문 숫자 특수문자를 모두 포함해야 합니다 | 사용 가능 문자 : 영대소문자, 숫자, 특수문자 (`~₩!@#$%^&*) | 글자수 제한 : 최소 8자에서 20자";
+
+    // 이미 해시된 비밀번호 ($2a$, $2b$, $2y$)
+    private static final String RAW_BCRYPT_HASH = "\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}";
+    public static final String BCRYPT_HASH = "^" + RAW_BCRYPT_HASH + "$";
+    // 대량 등록은 BCrypt 해시 또는 회원가입과 같은 규칙의 평문 비밀번호
+    public static final String PASSWORD_OR_HASH = "^(?:" + RAW_BCRYPT_HASH + "|" + RAW_PASSWORD + ")$";
+    public static final String PASSWORD_OR_HASH_MESSAGE = "비밀번호는 BCrypt 해시이거나 회원가입과 같은 규칙을 따라야 합니다 | " + PASSWORD_MESSAGE;
+
+    public static final String EMAIL = "^[a-zA-Z0-9+-_.]+@[a-zA-Z0-9-]+\\.[a-zA-Z0-9-.]+$";
+    public static final String EMAIL_MESSAGE = "이메일 형식이 잘못되었습니다.";
+
+    public static final String PHONE = "^01(?:0|1|[6-9])[.-]?(\\d{3}|\\d{4})[.-]?(\\d{4})$";
+    public static final String PHONE_MESSAGE = "전화번호 형식이 잘못되었습니다.";
+
+    private UserConstraints() {
+    }
+}
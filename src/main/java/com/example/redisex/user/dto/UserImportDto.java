@@ -0,0 +1,42 @@
+package com.example.redisex.user.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+
+import java.util.List;
+
+/*
+    관리자용 대량 사용자 등록 요청
+    각 행은 회원가입(JoinDto)과 같은 형식으로 검사
+    password가 이미 BCrypt 해시($2a$, $2b$, $2y$)면 그대로 저장하고, 아니면 서버에서 해시
+ */
+@Getter
+public class UserImportDto {
+    @NotEmpty(message = "등록할 사용자가 없습니다.")
+    @Size(max = 10000, message = "한 번에 최대 10000명까지 등록할 수 있습니다.")
+    private List<@Valid User> users;
+
+    @Getter
+    public static class User {
+        @NotBlank(message = "아이디 입력은 필수입니다.")
+        @Pattern(regexp = UserConstraints.USERNAME, message = UserConstraints.USERNAME_MESSAGE)
+        private String username;
+        @NotBlank(message = "비밀번호 입력은 필수입니다.")
+        @Pattern(regexp = UserConstraints.PASSWORD_OR_HASH, message = UserConstraints.PASSWORD_OR_HASH_MESSAGE)
+        private String password;
+        @NotBlank(message = "이메일 입력은 필수입니다.")
+        @Pattern(regexp = UserConstraints.EMAIL, message = UserConstraints.EMAIL_MESSAGE)
+        private String email;
+        @NotBlank(message = "전화번호 입력은 필수입니다.")
+        @Pattern(regexp = UserConstraints.PHONE, message = UserConstraints.PHONE_MESSAGE)
+        private String phone;
+        // Role 비트 묶음, 없으면 USER
+        @PositiveOrZero(message = "역할 값이 잘못되었습니다.")
+        private Integer roles;
+    }
+}
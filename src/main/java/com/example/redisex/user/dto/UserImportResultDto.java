@@ -0,0 +1,10 @@
+package com.example.redisex.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserImportResultDto {
+    private int imported;
+}
@@ -0,0 +1,63 @@
+package com.example.redisex.user.entity;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/*
+    사용자 역할, DB와 access 토큰(rl 클레임)에는 비트 묶음(int)으로 저장
+    bit 값은 저장된 데이터/발급된 토큰과 맞아야 하므로 한 번 정하면 바꾸지 않고 새 역할은 다음 비트에 추가
+ */
+public enum Role {
+    USER(0),
+    ADMIN(1),
+    // API 게이트웨이 등 서비스 계정, 토큰 검사 API(/tokens/introspect) 호출용
+    GATEWAY(2);
+
+    // 역할 정보가 없는 예전 사용자/토큰에 적용할 기본값
+    public static final int DEFAULT = USER.mask();
+
+    private static final Role[] VALUES = values();
+    // 가능한 모든 비트 조합의 권한 목록을 미리 만들어 두고 요청마다 같은 불변 인스턴스를 돌려줌
+    private static final List<List<GrantedAuthority>> AUTHORITIES;
+
+    static {
+        int combinations = 1 << VALUES.length;
+        List<List<GrantedAuthority>> authorities = new ArrayList<>(combinations);
+        for (int roles = 0; roles < combinations; roles++) {
+            List<GrantedAuthority> list = new ArrayList<>();
+            for (Role role : VALUES)
+                if ((roles & role.mask()) != 0) list.add(role.authority);
+            authorities.add(List.copyOf(list));
+        }
+        AUTHORITIES = List.copyOf(authorities);
+    }
+
+    private final int bit;
+    private final GrantedAuthority authority;
+
+    Role(int bit) {
+        this.bit = bit;
+        this.authority = new SimpleGrantedAuthority("ROLE_" + name());
+    }
+
+    public int mask() {
+        return 1 << bit;
+    }
+
+    public static List<GrantedAuthority> authorities(int roles) {
+        return AUTHORITIES.get(roles & (AUTHORITIES.size() - 1));
+    }
+
+    public static int encode(Collection<? extends GrantedAuthority> authorities) {
+        int roles = 0;
+        if (authorities == null) return roles;
+        for (GrantedAuthority authority : authorities)
+            for (Role role : VALUES)
+                if (role.authority.getAuthority().equals(authority.getAuthority())) roles |= role.mask();
+        return roles;
+    }
+}
@@ -1,19 +1,27 @@
 package com.example.redisex.user.entity;
 
+import com.example.redisex.global.id.SnowflakeIdentifierGenerator;
 import com.example.redisex.user.dto.CustomUserDetails;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
 
 @Getter
 @NoArgsConstructor
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_users_email", columnNames = "email"),
+        @UniqueConstraint(name = "uk_users_phone", columnNames = "phone")
+})
 public class UserEntity {
+    // IDENTITY는 insert마다 생성된 ID를 읽어야 해서 배치 insert가 꺼지므로 애플리케이션에서 ID 생성
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "snowflake")
+    @GenericGenerator(name = "snowflake", type = SnowflakeIdentifierGenerator.class)
     private Long id;
     @Column(nullable = false, unique = true)
     private String username;
@@ -23,14 +31,28 @@ public class UserEntity {
     private String email;
     @NotBlank
     private String phone;
+    // Role 비트 묶음, 기존 사용자는 USER
+    @ColumnDefault("1")
+    @Column(nullable = false)
+    private int roles;
 
     @Builder
-    public UserEntity(Long id, String username, String password, String email, String phone) {
+    public UserEntity(Long id, String username, String password, String email, String phone, Integer roles) {
         this.id = id;
         this.username = username;
         this.password = password;
         this.email = email;
         this.phone = phone;
+        this.roles = roles == null ? Role.DEFAULT : roles;
+    }
+
+    public void changePassword(String password) {
+        this.password = password;
+    }
+
+    public void update(String email, String phone) {
+        this.email = email;
+        this.phone = phone;
     }
 
     public static UserEntity fromUserDetails(CustomUserDetails userDetails) {
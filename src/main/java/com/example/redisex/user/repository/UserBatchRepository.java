@@ -0,0 +1,45 @@
+package com.example.redisex.user.repository;
+
+import com.example.redisex.global.id.SnowflakeIdGenerator;
+import com.example.redisex.user.entity.UserEntity;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/*
+    대량 사용자 등록용 JDBC 배치 insert
+    엔티티를 만들지 않고 JdbcTemplate으로 바로 insert, ID는 엔티티와 같은 SnowflakeIdGenerator로 생성
+    MySQL에서는 rewriteBatchedStatements=true 이면 배치 하나가 다중 행 insert 한 문장으로 전송됨
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBatchRepository {
+    static final int BATCH_SIZE = 500;
+    private static final String INSERT_SQL =
+            "insert into users (id, username, password, email, phone, roles) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SnowflakeIdGenerator idGenerator;
+
+    // 등록한 행 수 반환, 여러 배치를 한 트랜잭션으로 묶어 일부만 들어가지 않게 함
+    @Transactional
+    public int insertAll(List<UserEntity> users) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, users, BATCH_SIZE, (ps, user) -> {
+            ps.setLong(1, user.getId() != null ? user.getId() : idGenerator.nextId());
+            ps.setString(2, user.getUsername());
+            ps.setString(3, user.getPassword());
+            ps.setString(4, user.getEmail());
+            ps.setString(5, user.getPhone());
+            ps.setInt(6, user.getRoles());
+        });
+        // 다중 행 insert로 바뀌면 드라이버가 행 수 대신 SUCCESS_NO_INFO(-2)를 돌려주므로 요청 건수로 계산
+        int inserted = 0;
+        for (int[] batch : counts)
+            for (int count : batch)
+                inserted += count < 0 ? 1 : count;
+        return inserted;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.redisex.user.repository;
+
+/*
+    회원가입 중복 검사 결과, 아이디/이메일/전화번호 중복을 쿼리 한 번으로 확인
+ */
+public interface UserConflicts {
+    long getUsernameCount();
+
+    long getEmailCount();
+
+    long getPhoneCount();
+}
@@ -1,12 +1,38 @@
 package com.example.redisex.user.repository;
 
 import com.example.redisex.user.entity.UserEntity;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByUsername(String username);
+
+    // existsBy* 세 번 대신 한 번의 쿼리로 확인, 세 컬럼 모두 유니크 인덱스가 있어 인덱스로만 찾음
+    @Query("select count(case when u.username = :username then 1 end) as usernameCount, " +
+            "count(case when u.email = :email then 1 end) as emailCount, " +
+            "count(case when u.phone = :phone then 1 end) as phoneCount " +
+            "from UserEntity u where u.username = :username or u.email = :email or u.phone = :phone")
+    UserConflicts findConflicts(
+            @Param("username") String username,
+            @Param("email") String email,
+            @Param("phone") String phone
+    );
+
+    @Modifying
+    @Query("delete from UserEntity u where u.username = :username")
+    int deleteByUsername(@Param("username") String username);
+
+    // 엔티티를 읽지 않고 update 한 문장으로 변경 (호출하는 쪽에 트랜잭션이 없어도 됨)
+    @Transactional
+    @Modifying
+    @Query("update UserEntity u set u.password = :password where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
     Boolean existsByPhone(String phone);
@@ -0,0 +1,151 @@
+package com.example.redisex.user.service;
+
+import com.example.redisex.global.cache.LocalTtlCache;
+import com.example.redisex.global.redis.RedisClientSideCache;
+import com.example.redisex.user.dto.CustomUserDetails;
+import com.example.redisex.user.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/*
+    UserRepository.findByUsername 앞단에 두는 2단계 사용자 정보 캐시
+    1단계 : 프로세스 내 LRU/TTL 캐시
+    2단계 : 모든 노드가 공유하는 redis 캐시 (JSON 문자열로 저장)
+            redis.client-side-caching이 켜져 있으면 RESP3 추적으로 JSON 문자열도 로컬에 두어 redis 왕복을 줄임
+    사용자 정보가 바뀌면 redis pub/sub으로 무효화 메시지를 보내 모든 노드의 1단계 캐시를 비움
+    클라이언트 측 캐시가 추적 중이면 1단계 캐시는 쓰지 않음
+    (추적 캐시는 redis 값이 바뀌는 즉시 무효화되는데, 그 앞에 1단계 캐시가 있으면 pub/sub을 놓쳤을 때 local.ttl 동안 이전 값이 보임)
+    비밀번호 해시는 어느 단계에도 저장하지 않음, BCrypt 비교가 필요한 경로는 UserService에서 DB로 직접 조회
+ */
+@Slf4j
+@Component
+public class UserDetailsCache implements MessageListener {
+    public static final String INVALIDATION_CHANNEL = "user-details:invalidate";
+    private static final String KEY_PREFIX = "user-details:";
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisClientSideCache clientSideCache;
+    private final ObjectMapper objectMapper;
+    private final LocalTtlCache<String, CustomUserDetails> localCache;
+    private final long localTtl;
+    private final long redisTtl;
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+
+    public UserDetailsCache(
+            UserRepository userRepository,
+            RedisTemplate<String, String> redisTemplate,
+            RedisClientSideCache clientSideCache,
+            ObjectMapper objectMapper,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${user.details-cache.local.max-size:10000}") int localMaxSize,
+            @Value("${user.details-cache.local.ttl:30000}") long localTtl,
+            @Value("${user.details-cache.redis.ttl:600000}") long redisTtl
+    ) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.clientSideCache = clientSideCache;
+        this.objectMapper = objectMapper;
+        this.localCache = new LocalTtlCache<>(localMaxSize);
+        this.localTtl = localTtl;
+        this.redisTtl = redisTtl;
+
+        this.localHits = meterRegistry.counter("user.details.cache.requests", "result", "local-hit");
+        this.redisHits = meterRegistry.counter("user.details.cache.requests", "result", "redis-hit");
+        this.misses = meterRegistry.counter("user.details.cache.requests", "result", "miss");
+        FunctionCounter.builder("user.details.cache.evictions", localCache, LocalTtlCache::evictionCount)
+                .register(meterRegistry);
+        Gauge.builder("user.details.cache.size", localCache, LocalTtlCache::size)
+                .register(meterRegistry);
+
+        // 다른 노드에서 보낸 무효화 메시지 구독
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /*
+        로컬 캐시 -> redis -> DB 순서로 조회 (클라이언트 측 캐시가 추적 중이면 로컬 캐시는 건너뜀)
+        DB에서 읽은 값은 redis와 로컬 캐시에 모두 채워 넣음, 반환값의 비밀번호는 항상 null
+     */
+    public CustomUserDetails get(String username) throws UsernameNotFoundException {
+        boolean useLocal = !clientSideCache.isTracking();
+        CustomUserDetails user = useLocal ? localCache.get(username) : null;
+        if (user != null) {
+            localHits.increment();
+            return user;
+        }
+
+        user = readRedis(username);
+        if (user != null) {
+            redisHits.increment();
+        } else {
+            misses.increment();
+            user = userRepository.findByUsername(username)
+                    .map(CustomUserDetails::profileOf)
+                    .orElseThrow(() -> new UsernameNotFoundException(username));
+            writeRedis(username, user);
+        }
+        if (useLocal) localCache.put(username, user, System.currentTimeMillis() + localTtl);
+        return user;
+    }
+
+    // 사용자 정보가 변경되었을 때 호출, redis 값을 지우고 모든 노드에 무효화 전파
+    public void evict(String username) {
+        localCache.remove(username);
+        try {
+            redisTemplate.delete(KEY_PREFIX + username);
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, username);
+        } catch (DataAccessException e) {
+            log.warn("user details cache invalidation failed: {}", e.getClass());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        localCache.remove(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    // redis 장애나 역직렬화 실패 시에는 캐시 미스로 보고 DB에서 조회
+    private CustomUserDetails readRedis(String username) {
+        try {
+            String json = clientSideCache.get(KEY_PREFIX + username);
+            return json == null ? null : objectMapper.readValue(json, CustomUserDetails.class);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("user details cache read failed: {}", e.getClass());
+            return null;
+        }
+    }
+
+    private void writeRedis(String username, CustomUserDetails user) {
+        try {
+            redisTemplate.opsForValue().set(
+                    KEY_PREFIX + username,
+                    objectMapper.writeValueAsString(user),
+                    redisTtl,
+                    TimeUnit.MILLISECONDS
+            );
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("user details cache write failed: {}", e.getClass());
+        }
+    }
+}
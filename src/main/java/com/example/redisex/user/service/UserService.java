@@ -3,15 +3,32 @@ package com.example.redisex.user.service;
 import com.example.redisex.global.jwt.JwtTokenDto;
 import com.example.redisex.global.jwt.JwtTokenProvider;
 import com.example.redisex.global.jwt.JwtTokenUtils;
+import com.example.redisex.global.jwt.RefreshTokenStore;
+import com.example.redisex.global.jwt.TokenRevocationService;
+import com.example.redisex.global.jwt.VerifiedToken;
+import com.example.redisex.global.security.BulkPasswordHasher;
+import com.example.redisex.global.security.LoginAttemptService;
+import com.example.redisex.global.security.PasswordHashingExecutor;
 import com.example.redisex.user.dto.CustomUserDetails;
+import com.example.redisex.user.dto.JoinDto;
 import com.example.redisex.user.dto.LoginDto;
+import com.example.redisex.user.dto.RefreshTokenDto;
+import com.example.redisex.user.dto.SessionDto;
+import com.example.redisex.user.dto.SessionPageDto;
+import com.example.redisex.user.dto.UserConstraints;
+import com.example.redisex.user.dto.UserImportDto;
+import com.example.redisex.user.dto.UserImportResultDto;
 import com.example.redisex.user.entity.UserEntity;
+import com.example.redisex.user.repository.UserBatchRepository;
+import com.example.redisex.user.repository.UserConflicts;
 import com.example.redisex.user.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,70 +36,344 @@ import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Service
 public class UserService implements UserDetailsManager {
+    // 세션 목록 한 페이지의 최대 크기
+    private static final int MAX_SESSION_PAGE_SIZE = 100;
+    // 이미 해시된 비밀번호인지 판별 (대량 등록 시 다시 해시하지 않음)
+    private static final Pattern BCRYPT_HASH = Pattern.compile(UserConstraints.BCRYPT_HASH);
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenStore refreshTokenStore;
+    private final TokenRevocationService tokenRevocationService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final BulkPasswordHasher bulkPasswordHasher;
+    private final UserBatchRepository userBatchRepository;
+    private final LoginAttemptService loginAttemptService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtTokenUtils jwtTokenUtils, JwtTokenProvider jwtTokenProvider) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtTokenUtils jwtTokenUtils, JwtTokenProvider jwtTokenProvider, UserDetailsCache userDetailsCache, RefreshTokenStore refreshTokenStore, TokenRevocationService tokenRevocationService, PasswordHashingExecutor passwordHashingExecutor, BulkPasswordHasher bulkPasswordHasher, UserBatchRepository userBatchRepository, LoginAttemptService loginAttemptService) {
         this.userRepository = userRepository;
+        this.loginAttemptService = loginAttemptService;
+        this.userBatchRepository = userBatchRepository;
         this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.bulkPasswordHasher = bulkPasswordHasher;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.userDetailsCache = userDetailsCache;
+        this.refreshTokenStore = refreshTokenStore;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
-    //
-    @Transactional
+    /*
+        회원가입
+        중복 검사는 쿼리 한 번으로 하고, BCrypt 해시는 DB 연결을 잡기 전에 전용 스레드 풀에서 수행
+        검사와 저장 사이에 같은 값이 먼저 저장되면 유니크 인덱스 위반을 409로 변환
+     */
+    public void signup(JoinDto request) {
+        if (!request.getPassword().equals(request.getPasswordCheck()))
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "비밀번호와 확인용 비밀번호가 일치하지 않습니다.");
+        checkConflicts(request.getUsername(), request.getEmail(), request.getPhone());
+        String encoded = passwordHashingExecutor.encode(request.getPassword());
+        insert(UserEntity.builder()
+                .username(request.getUsername())
+                .password(encoded)
+                .email(request.getEmail())
+                .phone(request.getPhone())
+                .build());
+    }
+
+    /*
+        관리자용 대량 등록, JDBC 배치로 한 번에 insert
+        평문 비밀번호는 로그인 풀과 분리된 대량 등록 전용 풀에서 병렬로 해시 (이미 해시된 값은 그대로)
+        해시는 트랜잭션 밖에서 먼저 끝내고, 하나라도 중복이면 전체를 되돌림
+     */
+    public UserImportResultDto importUsers(UserImportDto request) {
+        List<UserImportDto.User> rows = request.getUsers();
+        List<Integer> plainRows = new ArrayList<>();
+        List<String> plainPasswords = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (BCRYPT_HASH.matcher(rows.get(i).getPassword()).matches()) continue;
+            plainRows.add(i);
+            plainPasswords.add(rows.get(i).getPassword());
+        }
+        String[] passwords = new String[rows.size()];
+        List<String> encoded = plainPasswords.isEmpty() ? List.of() : bulkPasswordHasher.encodeAll(plainPasswords);
+        for (int i = 0; i < plainRows.size(); i++) passwords[plainRows.get(i)] = encoded.get(i);
+
+        List<UserEntity> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            UserImportDto.User user = rows.get(i);
+            users.add(UserEntity.builder()
+                    .username(user.getUsername())
+                    .password(passwords[i] != null ? passwords[i] : user.getPassword())
+                    .email(user.getEmail())
+                    .phone(user.getPhone())
+                    .roles(user.getRoles())
+                    .build());
+        }
+        try {
+            return new UserImportResultDto(userBatchRepository.insertAll(users));
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 존재하는 아이디, 이메일 또는 전화번호가 포함되어 있습니다.");
+        }
+    }
+
+    // null인 값은 검사하지 않음 (어느 행과도 같지 않음)
+    private void checkConflicts(String username, String email, String phone) {
+        UserConflicts conflicts = userRepository.findConflicts(username, email, phone);
+        List<String> messages = new ArrayList<>(3);
+        if (conflicts.getUsernameCount() > 0) messages.add("이미 사용 중인 아이디입니다.");
+        if (conflicts.getEmailCount() > 0) messages.add("이미 사용 중인 이메일입니다.");
+        if (conflicts.getPhoneCount() > 0) messages.add("이미 사용 중인 전화번호입니다.");
+        if (!messages.isEmpty())
+            throw new ResponseStatusException(HttpStatus.CONFLICT, String.join(" ", messages));
+    }
+
+    private void insert(UserEntity entity) {
+        try {
+            userRepository.save(entity);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 사용 중인 아이디, 이메일 또는 전화번호입니다.");
+        }
+    }
+
+    /*
+        로그인
+        1. 잠긴 계정이면 DB 조회와 BCrypt 비교 없이 바로 거절 (redis 왕복 한 번)
+        2. 비밀번호가 틀리면 실패 횟수를 올리고, 임계값을 넘으면 계정을 잠금
+        트랜잭션을 걸지 않음 : 사용자 조회는 저장소의 짧은 읽기 전용 트랜잭션에서 끝나고,
+        BCrypt 비교(수십 ms)와 redis 쓰기 동안 DB 연결을 잡고 있지 않음
+     */
     public JwtTokenDto login(LoginDto request) {
-        CustomUserDetails user = this.loadUserByUsername(request.getUsername());
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword()))
+        String username = request.getUsername();
+        LoginAttemptService.AttemptState attempts = loginAttemptService.state(username);
+        if (attempts.locked()) throw locked(attempts.lockedUntil());
+
+        // 비밀번호 해시는 캐시에 두지 않으므로 DB에서 조회 (BCrypt 비교에 비하면 작은 비용)
+        CustomUserDetails user = loadWithPassword(username);
+        // BCrypt 비교는 톰캣 스레드가 아닌 전용 스레드 풀에서 실행
+        if (!passwordHashingExecutor.matches(request.getPassword(), user.getPassword())) {
+            long lockedUntil = loginAttemptService.recordFailure(username);
+            if (lockedUntil > 0) throw locked(lockedUntil);
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "비밀번호가 일치하지 않습니다.");
+        }
+        if (attempts.failures() > 0) loginAttemptService.reset(username);
+        // 작업 비용 설정이 올라갔으면 로그인에 성공한 지금 새 비용으로 다시 해시
+        if (passwordHashingExecutor.upgradeEncoding(user.getPassword()))
+            rehashPassword(user.getUsername(), request.getPassword());
 
+        // 역할은 access 토큰의 rl 클레임으로 들어감
         Authentication authentication = new UsernamePasswordAuthenticationToken(
                 user.getUsername(),
-                user.getPassword());
+                user.getPassword(),
+                user.getAuthorities());
+        // 기기 ID가 있으면 그 기기의 세션을 덮어쓰고, 없으면 새 세션 생성
+        String sessionId = request.getDeviceId() != null ? request.getDeviceId() : UUID.randomUUID().toString();
         JwtTokenDto response = new JwtTokenDto(
-                jwtTokenProvider.createAccessToken(authentication),
-                jwtTokenProvider.createRefreshToken(authentication)
+                jwtTokenProvider.createAccessToken(authentication, sessionId),
+                jwtTokenProvider.createRefreshToken(authentication, sessionId)
         );
         return response;
     }
 
+    private static CustomUserDetails withLockState(CustomUserDetails user, LoginAttemptService.AttemptState attempts) {
+        return attempts.lockedUntil() > 0 ? user.withLockedUntil(attempts.lockedUntil()) : user;
+    }
+
+    private static ResponseStatusException locked(long lockedUntil) {
+        long seconds = Math.max(1L, (lockedUntil - System.currentTimeMillis() + 999) / 1000);
+        return new ResponseStatusException(HttpStatus.LOCKED,
+                "로그인 실패가 반복되어 계정이 잠겼습니다. " + seconds + "초 후 다시 시도해 주세요.");
+    }
+
+    private void rehashPassword(String username, String rawPassword) {
+        String encoded = passwordHashingExecutor.encode(rawPassword);
+        userRepository.updatePassword(username, encoded);
+        userDetailsCache.evict(username);
+    }
+
+    /*
+        refresh 토큰으로 access 토큰과 refresh 토큰을 재발급
+        BCrypt 비교 없이 서명 검증 + 사용자 캐시 조회 + redis lua 스크립트 한 번으로 처리
+     */
+    public JwtTokenDto refresh(RefreshTokenDto request) {
+        VerifiedToken verified = jwtTokenProvider.verifyRefreshToken(request.getRefreshToken());
+        if (verified == null || verified.getSessionId() == null)
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "유효하지 않은 refresh 토큰입니다.");
+
+        // 재발급 시점의 역할을 반영 (캐시에서 조회, BCrypt 비교는 없음)
+        CustomUserDetails user;
+        try {
+            user = userDetailsCache.get(verified.getSubject());
+        } catch (UsernameNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "유효하지 않은 refresh 토큰입니다.");
+        }
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                verified.getSubject(), null, user.getAuthorities());
+        String sessionId = verified.getSessionId();
+        String newRefreshToken = jwtTokenProvider.generateRefreshToken(authentication, sessionId);
+        RefreshTokenStore.RotationResult result = jwtTokenProvider.rotateRefreshToken(
+                verified.getSubject(), sessionId, request.getRefreshToken(), newRefreshToken);
+        if (result == RefreshTokenStore.RotationResult.REUSED)
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "이미 사용된 refresh 토큰입니다. 다시 로그인해 주세요.");
+        if (result == RefreshTokenStore.RotationResult.NOT_FOUND)
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "만료되었거나 로그아웃된 refresh 토큰입니다.");
+
+        return new JwtTokenDto(jwtTokenProvider.createAccessToken(authentication, sessionId), newRefreshToken);
+    }
+
+    /*
+        로그아웃 : 현재 access 토큰을 남은 수명 동안 폐기하고, 같은 세션의 refresh 토큰도 삭제
+     */
+    public void logout(Authentication authentication) {
+        if (authentication == null || !(authentication.getDetails() instanceof VerifiedToken token))
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
+        tokenRevocationService.revoke(token);
+        if (token.getSessionId() != null)
+            refreshTokenStore.revoke(token.getSubject(), token.getSessionId());
+    }
+
+    // 로그인한 사용자의 세션(기기) 목록 조회
+    public SessionPageDto sessions(CustomUserDetails user, int page, int size) {
+        String username = requireLogin(user);
+        // 음수 오프셋이나 int 범위를 넘는 (page + 1) * size는 redis 오류(500)가 되므로 미리 거절
+        if (page < 0 || size < 1 || size > MAX_SESSION_PAGE_SIZE || (long) (page + 1) * size > Integer.MAX_VALUE)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "page는 0 이상, size는 1 이상 " + MAX_SESSION_PAGE_SIZE + " 이하여야 합니다.");
+        List<SessionDto> sessions = refreshTokenStore.findSessions(username, page, size).stream()
+                .map(session -> SessionDto.builder()
+                        .sessionId(session.sessionId())
+                        .issuedAt(session.issuedAt())
+                        .expiresAt(session.expiresAt())
+                        .build())
+                .toList();
+        return SessionPageDto.builder()
+                .sessions(sessions)
+                .total(refreshTokenStore.countSessions(username))
+                .page(page)
+                .size(size)
+                .build();
+    }
+
+    // 특정 세션(기기) 로그아웃
+    public void revokeSession(CustomUserDetails user, String sessionId) {
+        refreshTokenStore.revoke(requireLogin(user), sessionId);
+    }
+
+    // 모든 기기에서 로그아웃, 이미 발급된 access 토큰도 함께 무효화
+    public void revokeAllSessions(CustomUserDetails user) {
+        String username = requireLogin(user);
+        refreshTokenStore.revokeAll(List.of(username));
+        tokenRevocationService.revokeAllBefore(username);
+    }
+
+    private String requireLogin(CustomUserDetails user) {
+        if (user == null)
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
+        return user.getUsername();
+    }
+
     // UserDetails와 Authentication의 패스워드를 비교하고 검증하는 로직을 처리
     @Override
+    // 비밀번호 비교에 쓰이므로 캐시(비밀번호 없음)가 아닌 DB에서 조회
+    // 로그인 실패로 잠긴 계정이면 isAccountNonLocked()가 false인 복사본 반환
     public CustomUserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Optional<UserEntity> optionalUser = userRepository.findByUsername(username);
-        if (optionalUser.isEmpty()) throw new UsernameNotFoundException(username);
-        return CustomUserDetails.fromEntity(optionalUser.get());
+        return withLockState(loadWithPassword(username), loginAttemptService.state(username));
     }
 
+    private CustomUserDetails loadWithPassword(String username) {
+        return userRepository.findByUsername(username)
+                .map(CustomUserDetails::fromEntity)
+                .orElseThrow(() -> new UsernameNotFoundException(username));
+    }
+
+    // 비밀번호는 이미 인코딩된 값이어야 함 (UserDetailsManager 규약)
     @Override
     public void createUser(UserDetails user) {
-
+        if (!(user instanceof CustomUserDetails details))
+            throw new IllegalArgumentException("CustomUserDetails is required");
+        checkConflicts(details.getUsername(), details.getEmail(), details.getPhone());
+        insert(UserEntity.builder()
+                .username(details.getUsername())
+                .password(details.getPassword())
+                .email(details.getEmail())
+                .phone(details.getPhone())
+                .roles(details.getRoles())
+                .build());
     }
 
+    /*
+        이메일/전화번호 변경
+        회원가입과 같이 바뀌는 값만 먼저 중복 검사하고, 검사와 저장 사이에 같은 값이 저장되면 유니크 인덱스 위반을 409로 변환
+     */
     @Override
+    @Transactional
     public void updateUser(UserDetails user) {
-
+        if (!(user instanceof CustomUserDetails details))
+            throw new IllegalArgumentException("CustomUserDetails is required");
+        UserEntity entity = userRepository.findByUsername(details.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(details.getUsername()));
+        String email = Objects.equals(entity.getEmail(), details.getEmail()) ? null : details.getEmail();
+        String phone = Objects.equals(entity.getPhone(), details.getPhone()) ? null : details.getPhone();
+        if (email == null && phone == null) return;
+        checkConflicts(null, email, phone);
+        entity.update(details.getEmail(), details.getPhone());
+        try {
+            userRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 사용 중인 이메일 또는 전화번호입니다.");
+        }
+        userDetailsCache.evict(user.getUsername());
     }
 
+    // 삭제 후 캐시를 비우고 모든 기기의 refresh 토큰과 access 토큰도 폐기
     @Override
+    @Transactional
     public void deleteUser(String username) {
-
+        userRepository.deleteByUsername(username);
+        userDetailsCache.evict(username);
+        refreshTokenStore.revokeAll(List.of(username));
+        tokenRevocationService.revokeAllBefore(username);
     }
 
+    /*
+        현재 로그인한 사용자의 비밀번호 변경
+        변경 후에는 다른 기기의 세션이 남지 않도록 모든 refresh 토큰과 access 토큰 폐기
+     */
     @Override
     public void changePassword(String oldPassword, String newPassword) {
-
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails))
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
+        String username = authentication.getName();
+        // 현재 비밀번호 확인도 로그인과 같은 실패 횟수/잠금을 적용
+        CustomUserDetails user = loadUserByUsername(username);
+        if (!user.isAccountNonLocked()) throw locked(user.getLockedUntil());
+        if (!passwordHashingExecutor.matches(oldPassword, user.getPassword())) {
+            long lockedUntil = loginAttemptService.recordFailure(username);
+            if (lockedUntil > 0) throw locked(lockedUntil);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "현재 비밀번호가 일치하지 않습니다.");
+        }
+        String encoded = passwordHashingExecutor.encode(newPassword);
+        userRepository.updatePassword(username, encoded);
+        userDetailsCache.evict(username);
+        refreshTokenStore.revokeAll(List.of(username));
+        tokenRevocationService.revokeAllBefore(username);
     }
 
     @Override
     public boolean userExists(String username) {
-        return true;
+        return Boolean.TRUE.equals(userRepository.existsByUsername(username));
     }
 
 }
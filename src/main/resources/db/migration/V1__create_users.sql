@@ -0,0 +1,14 @@
+-- 기존에 ddl-auto로 만든 스키마는 baseline(1)으로 등록되어 이 파일을 건너뜀
+create table if not exists users
+(
+    id       bigint       not null,
+    username varchar(255) not null,
+    password varchar(255),
+    email    varchar(255),
+    phone    varchar(255),
+    roles    int          not null default 1,
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email),
+    constraint uk_users_phone unique (phone)
+);
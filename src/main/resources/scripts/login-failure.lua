@@ -0,0 +1,21 @@
+-- 로그인 실패 기록과 잠금을 한 번에 처리 (동시 실패 요청 사이에 임계값 확인과 잠금이 엇갈리지 않음)
+-- KEYS[1] : 실패 횟수 키
+-- KEYS[2] : 잠금 키
+-- ARGV[1] : 실패 횟수 유지 시간 (ms)
+-- ARGV[2] : 잠금까지의 실패 횟수
+-- ARGV[3] : 첫 잠금 시간 (ms)
+-- ARGV[4] : 최대 잠금 시간 (ms)
+-- 반환값  : 이번 실패로 설정한 잠금 시간 (ms), 잠그지 않았으면 0
+local failures = redis.call('INCR', KEYS[1])
+redis.call('PEXPIRE', KEYS[1], ARGV[1])
+
+local maxFailures = tonumber(ARGV[2])
+if failures < maxFailures then
+    return 0
+end
+
+-- 임계값을 넘은 횟수만큼 잠금 시간을 두 배씩 늘림
+local exponent = math.min(failures - maxFailures, 20)
+local duration = math.floor(math.min(tonumber(ARGV[4]), tonumber(ARGV[3]) * 2 ^ exponent))
+redis.call('SET', KEYS[2], '1', 'PX', duration)
+return duration
@@ -0,0 +1,30 @@
+-- 토큰 버킷 방식의 요청 제한
+-- KEYS[1] : 버킷 키
+-- ARGV[1] : 버킷 용량 (순간적으로 허용할 최대 요청 수)
+-- ARGV[2] : ms당 충전되는 토큰 수
+-- 반환값  : {허용 여부(1/0), 다음 요청까지 기다려야 하는 시간(ms)}
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+
+-- 서버마다 시계가 다를 수 있으므로 redis 서버 시각 사용
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(bucket[1]) or capacity
+local ts = tonumber(bucket[2]) or now
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+
+local allowed = 0
+local wait = 0
+if tokens >= 1 then
+    tokens = tokens - 1
+    allowed = 1
+else
+    wait = math.ceil((1 - tokens) / rate)
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+-- 버킷이 가득 찰 때까지의 시간이 지나면 키를 지워 메모리 회수
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate))
+return {allowed, wait}
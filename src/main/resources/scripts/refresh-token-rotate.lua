@@ -0,0 +1,58 @@
+-- refresh 토큰 교체 (비교 -> 새 토큰 저장 -> TTL 재설정을 한 번의 왕복으로 처리)
+-- KEYS[1] : 세션별 refresh 토큰 해시 (field = 세션 ID, value = RefreshTokenRecord 이진 값)
+-- KEYS[2] : 세션 만료 시각 정렬 집합 (member = 세션 ID, score = 만료 시각 ms)
+-- KEYS[3] : (선택) 이전 형식 해시 (value = JWT 문자열), 새 키에 없을 때 확인하고 교체에 성공하면 새 키로 옮김
+-- KEYS[4] : (선택) 이전 형식 정렬 집합
+-- ARGV[1] : 세션 ID
+-- ARGV[2] : 클라이언트가 제시한 기존 refresh 토큰의 다이제스트 (16바이트)
+-- ARGV[3] : 새 RefreshTokenRecord 이진 값 (generation은 저장된 값 + 1로 바꿔서 저장)
+-- ARGV[4] : 새 토큰의 만료 시각 (ms)
+-- ARGV[5] : 현재 시각 (ms)
+-- ARGV[6] : 새 토큰의 TTL (ms)
+-- ARGV[7] : 클라이언트가 제시한 기존 refresh 토큰 (이전 형식 값과 비교할 때만 사용)
+-- 반환값  : 1 교체 성공 / 0 저장된 토큰 없음(만료, 로그아웃) / -1 재사용 감지
+local VERSION = 1
+local SIZE = 29
+
+local hash, zset = KEYS[1], KEYS[2]
+local current = redis.call('HGET', hash, ARGV[1])
+local legacy = false
+if not current and #KEYS >= 4 then
+    current = redis.call('HGET', KEYS[3], ARGV[1])
+    if current then
+        hash, zset, legacy = KEYS[3], KEYS[4], true
+    end
+end
+
+local expiresAt = current and redis.call('ZSCORE', zset, ARGV[1])
+if not current or not expiresAt or tonumber(expiresAt) <= tonumber(ARGV[5]) then
+    redis.call('HDEL', hash, ARGV[1])
+    redis.call('ZREM', zset, ARGV[1])
+    return 0
+end
+
+local matches
+local generation = 0
+if #current == SIZE and string.byte(current, 1) == VERSION then
+    matches = string.sub(current, 2, 17) == ARGV[2]
+    generation = struct.unpack('>I4', current, 26)
+else
+    matches = current == ARGV[7]
+end
+if not matches then
+    -- 이미 교체된 토큰이 다시 사용됨 -> 탈취 가능성이 있으므로 해당 세션까지 폐기
+    redis.call('HDEL', hash, ARGV[1])
+    redis.call('ZREM', zset, ARGV[1])
+    return -1
+end
+
+if legacy then
+    redis.call('HDEL', KEYS[3], ARGV[1])
+    redis.call('ZREM', KEYS[4], ARGV[1])
+end
+local record = string.sub(ARGV[3], 1, 25) .. struct.pack('>I4', (generation + 1) % 4294967296)
+redis.call('HSET', KEYS[1], ARGV[1], record)
+redis.call('ZADD', KEYS[2], ARGV[4], ARGV[1])
+redis.call('PEXPIRE', KEYS[1], ARGV[6])
+redis.call('PEXPIRE', KEYS[2], ARGV[6])
+return 1
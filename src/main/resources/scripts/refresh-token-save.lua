@@ -0,0 +1,42 @@
+-- 세션(기기)별 refresh 토큰 저장
+-- KEYS[1] : 세션별 refresh 토큰 해시 (field = 세션 ID, value = RefreshTokenRecord 이진 값)
+-- KEYS[2] : 세션 만료 시각 정렬 집합 (member = 세션 ID, score = 만료 시각 ms)
+-- KEYS[3] : (선택) 이전 형식 해시, 같은 세션 ID의 항목을 지움
+-- KEYS[4] : (선택) 이전 형식 정렬 집합
+-- ARGV[1] : 세션 ID
+-- ARGV[2] : RefreshTokenRecord 이진 값
+-- ARGV[3] : 토큰 만료 시각 (ms)
+-- ARGV[4] : 현재 시각 (ms)
+-- ARGV[5] : 사용자당 최대 세션 수
+-- ARGV[6] : 토큰 TTL (ms)
+-- 반환값  : 세션 수 제한으로 밀려난 세션 수
+
+-- 만료된 세션 정리
+local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[4])
+if #expired > 0 then
+    redis.call('HDEL', KEYS[1], unpack(expired))
+    redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', ARGV[4])
+end
+
+-- 같은 기기로 다시 로그인하면 이전 형식으로 남아 있던 세션은 새 항목으로 대체
+if #KEYS >= 4 then
+    redis.call('HDEL', KEYS[3], ARGV[1])
+    redis.call('ZREM', KEYS[4], ARGV[1])
+end
+
+redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+redis.call('ZADD', KEYS[2], ARGV[3], ARGV[1])
+
+-- 최대 세션 수를 넘으면 가장 오래된(만료가 가장 빠른) 세션부터 제거
+local overflow = redis.call('ZCARD', KEYS[2]) - tonumber(ARGV[5])
+if overflow > 0 then
+    local oldest = redis.call('ZRANGE', KEYS[2], 0, overflow - 1)
+    redis.call('HDEL', KEYS[1], unpack(oldest))
+    redis.call('ZREMRANGEBYRANK', KEYS[2], 0, overflow - 1)
+else
+    overflow = 0
+end
+
+redis.call('PEXPIRE', KEYS[1], ARGV[6])
+redis.call('PEXPIRE', KEYS[2], ARGV[6])
+return overflow
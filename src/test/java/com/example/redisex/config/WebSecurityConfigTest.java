@@ -0,0 +1,33 @@
+package com.example.redisex.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebSecurityConfigTest {
+
+    private static MockHttpServletRequest request(int localPort, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setLocalPort(localPort);
+        return request;
+    }
+
+    @Test
+    void permitsPrometheusOnlyOnManagementPort() {
+        RequestMatcher matcher = WebSecurityConfig.onManagementPort(8081, 8080, "/actuator/prometheus");
+
+        assertThat(matcher.matches(request(8081, "/actuator/prometheus"))).isTrue();
+        assertThat(matcher.matches(request(8080, "/actuator/prometheus"))).isFalse();
+        assertThat(matcher.matches(request(8081, "/actuator/metrics"))).isFalse();
+    }
+
+    @Test
+    void neverMatchesWithoutSeparateManagementPort() {
+        assertThat(WebSecurityConfig.onManagementPort(-1, 8080, "/actuator/prometheus")
+                .matches(request(8080, "/actuator/prometheus"))).isFalse();
+        assertThat(WebSecurityConfig.onManagementPort(8080, 8080, "/actuator/prometheus")
+                .matches(request(8080, "/actuator/prometheus"))).isFalse();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.redisex.global.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalTtlCacheTest {
+
+    @Test
+    void returnsValueUntilExpiry() throws InterruptedException {
+        LocalTtlCache<String, String> cache = new LocalTtlCache<>(10);
+        cache.put("a", "1", System.currentTimeMillis() + 30);
+        assertThat(cache.get("a")).isEqualTo("1");
+
+        Thread.sleep(50);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresAlreadyExpiredValue() {
+        LocalTtlCache<String, String> cache = new LocalTtlCache<>(10);
+        cache.put("a", "1", System.currentTimeMillis() - 1);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenFull() throws InterruptedException {
+        LocalTtlCache<Integer, Integer> cache = new LocalTtlCache<>(10);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 10; i++) cache.put(i, i, expiresAt);
+        // 사용 시각은 밀리초 단위이므로 구분되도록 잠시 기다린 뒤 0번만 사용
+        Thread.sleep(5);
+        assertThat(cache.get(0)).isEqualTo(0);
+
+        cache.put(10, 10, expiresAt);
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.get(0)).isEqualTo(0);
+        assertThat(cache.get(10)).isEqualTo(10);
+        assertThat(cache.evictionCount()).isPositive();
+    }
+
+    @Test
+    void sweepRemovesExpiredEntriesFirst() throws InterruptedException {
+        LocalTtlCache<Integer, Integer> cache = new LocalTtlCache<>(10);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) cache.put(i, i, now + 20);
+        for (int i = 5; i < 10; i++) cache.put(i, i, now + 60_000);
+        Thread.sleep(40);
+
+        cache.put(10, 10, System.currentTimeMillis() + 60_000);
+
+        assertThat(cache.size()).isEqualTo(6);
+        for (int i = 5; i <= 10; i++) assertThat(cache.get(i)).isEqualTo(i);
+    }
+
+    @Test
+    void sweepStaysAmortizedWhileEntriesExpireOneByOne() {
+        AtomicLong now = new AtomicLong();
+        LocalTtlCache<Integer, Integer> cache = new LocalTtlCache<>(100, now::get);
+        // 가득 찬 상태에서 매 시각 항목 하나씩 만료되는 모양 (VerifiedTokenCache의 평소 상태)
+        for (int i = 0; i < 100; i++) cache.put(i, i, i + 1);
+        long before = cache.sweepCount();
+
+        for (int t = 1; t <= 1_000; t++) {
+            now.set(t);
+            cache.put(1_000 + t, t, t + 100);
+        }
+
+        // 정리 한 번에 maxSize의 10%씩 비우므로 저장 10번에 한 번 정도만 정리
+        assertThat(cache.sweepCount() - before).isLessThanOrEqualTo(1_000 / 10 + 1);
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void removeAndClear() {
+        LocalTtlCache<String, String> cache = new LocalTtlCache<>(10);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        cache.put("a", "1", expiresAt);
+        cache.put("b", "2", expiresAt);
+
+        cache.remove("a");
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo("2");
+
+        cache.clear();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void staysBoundedUnderConcurrentWrites() throws Exception {
+        int maxSize = 1_000;
+        LocalTtlCache<Integer, Integer> cache = new LocalTtlCache<>(maxSize);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 100_000;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20_000; i++) {
+                    cache.put(offset + i, i, expiresAt);
+                    cache.get(offset + i / 2);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // 마지막 정리 이후 다른 스레드가 넣은 항목만큼은 넘을 수 있음
+        assertThat(cache.size()).isLessThanOrEqualTo(maxSize + threads);
+        assertThat(cache.evictionCount()).isPositive();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.redisex.global.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdGeneratorTest {
+    private static final long EPOCH = 1704067200000L;
+    private final AtomicLong now = new AtomicLong(EPOCH + 1_000);
+
+    private static long timestamp(long id) {
+        return (id >>> 22) + EPOCH;
+    }
+
+    private static long nodeId(long id) {
+        return (id >>> 12) & 1023;
+    }
+
+    private static long sequence(long id) {
+        return id & 4095;
+    }
+
+    @Test
+    void encodesTimestampNodeAndSequence() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(513, true, now::get);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        assertThat(timestamp(first)).isEqualTo(now.get());
+        assertThat(nodeId(first)).isEqualTo(513);
+        assertThat(sequence(first)).isZero();
+        assertThat(sequence(second)).isEqualTo(1);
+    }
+
+    @Test
+    void sequenceOverflowBorrowsNextMillisecond() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, true, now::get);
+        long previous = -1;
+        for (int i = 0; i < 4096; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+        assertThat(sequence(previous)).isEqualTo(4095);
+
+        // 같은 ms 안에서 순번을 다 쓰면 기다리지 않고 다음 ms로 넘어감
+        long overflow = generator.nextId();
+        assertThat(overflow).isGreaterThan(previous);
+        assertThat(timestamp(overflow)).isEqualTo(now.get() + 1);
+        assertThat(sequence(overflow)).isZero();
+
+        // 실제 시계가 빌려 쓴 ms에 도달해도 ID는 계속 증가
+        now.incrementAndGet();
+        assertThat(generator.nextId()).isGreaterThan(overflow);
+    }
+
+    @Test
+    void clockMovingBackwardsStillIncreases() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, true, now::get);
+        long before = generator.nextId();
+
+        now.addAndGet(-5_000);
+        long after = generator.nextId();
+
+        assertThat(after).isGreaterThan(before);
+        assertThat(timestamp(after)).isEqualTo(timestamp(before));
+
+        // 시계가 따라잡으면 다시 현재 시각 사용
+        now.addAndGet(10_000);
+        assertThat(timestamp(generator.nextId())).isEqualTo(now.get());
+    }
+
+    @Test
+    void missingNodeIdFailsWhenRequired() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(-1, true, now::get))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void missingNodeIdFallsBackToRandomInDev() {
+        long id = new SnowflakeIdGenerator(-1, false, now::get).nextId();
+
+        assertThat(nodeId(id)).isBetween(0L, 1023L);
+    }
+
+    @Test
+    void outOfRangeNodeIdFails() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(1024, false, now::get))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(-2, false, now::get))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.redisex.global.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.resource.beans.internal.ManagedBeanRegistryImpl;
+import org.hibernate.resource.beans.spi.ManagedBeanRegistry;
+import org.hibernate.service.ServiceRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SnowflakeIdentifierGeneratorTest {
+
+    private static ServiceRegistry serviceRegistry(ManagedBeanRegistry beanRegistry) {
+        ServiceRegistry serviceRegistry = mock(ServiceRegistry.class);
+        when(serviceRegistry.requireService(ManagedBeanRegistry.class)).thenReturn(beanRegistry);
+        return serviceRegistry;
+    }
+
+    @Test
+    void usesSingletonBeanFromSpringContainer() {
+        try (GenericApplicationContext context = new GenericApplicationContext()) {
+            SnowflakeIdGenerator bean = new SnowflakeIdGenerator(7, true, System::currentTimeMillis);
+            context.registerBean(SnowflakeIdGenerator.class, () -> bean);
+            context.refresh();
+            SnowflakeIdentifierGenerator generator = new SnowflakeIdentifierGenerator();
+
+            generator.configure(null, new Properties(), serviceRegistry(
+                    new ManagedBeanRegistryImpl(new SpringBeanContainer(context.getBeanFactory()))));
+
+            // 같은 객체의 순번을 이어서 쓰므로 JDBC 배치 insert의 ID와 겹치지 않음
+            long fromBean = bean.nextId();
+            long fromHibernate = (long) generator.generate(null, null);
+            assertThat(fromHibernate).isGreaterThan(fromBean);
+            assertThat((fromHibernate >>> 12) & 1023).isEqualTo(7);
+        }
+    }
+
+    @Test
+    void failsWithoutBeanContainer() {
+        SnowflakeIdentifierGenerator generator = new SnowflakeIdentifierGenerator();
+
+        assertThatThrownBy(() -> generator.configure(null, new Properties(), serviceRegistry(new ManagedBeanRegistryImpl(null))))
+                .isInstanceOf(MappingException.class);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.redisex.global.jwt;
+
+import com.example.redisex.user.entity.Role;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactJwtTest {
+
+    private static VerifiedToken read(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return CompactJwt.readPayload(bytes, bytes.length);
+    }
+
+    @Test
+    void readsWhatPayloadWrites() {
+        String id = CompactJwt.newId();
+        byte[] payload = CompactJwt.payload("alice", "session-1", 0b11, id, 1_700_000_000_123L, 1_700_000_600_123L);
+
+        VerifiedToken verified = CompactJwt.readPayload(payload, payload.length);
+
+        assertThat(id).hasSize(22);
+        assertThat(verified).isNotNull();
+        assertThat(verified.getSubject()).isEqualTo("alice");
+        assertThat(verified.getSessionId()).isEqualTo("session-1");
+        assertThat(verified.getRoles()).isEqualTo(0b11);
+        assertThat(verified.getId()).isEqualTo(id);
+        // 발급 시각은 iat_ms로 밀리초까지, 만료 시각은 초 단위
+        assertThat(verified.getIssuedAt()).isEqualTo(1_700_000_000_123L);
+        assertThat(verified.getExpiresAt()).isEqualTo(1_700_000_600_000L);
+    }
+
+    @Test
+    void fallsBackToSecondsWithoutIssuedAtMillis() {
+        VerifiedToken verified = read("{\"sub\":\"bob\",\"jti\":\"j\",\"iat\":1700000000,\"exp\":1700000600}");
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.getIssuedAt()).isEqualTo(1_700_000_000_000L);
+    }
+
+    @Test
+    void readsOnlyGivenLength() {
+        // 디코딩 버퍼는 페이로드보다 클 수 있으므로 length 뒤의 바이트는 무시해야 함
+        byte[] payload = CompactJwt.payload("alice", null, 1, "id", 1_000L, 2_000L);
+        byte[] buffer = new byte[payload.length + 8];
+        System.arraycopy(payload, 0, buffer, 0, payload.length);
+        buffer[payload.length] = 'x';
+
+        VerifiedToken verified = CompactJwt.readPayload(buffer, payload.length);
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.getSessionId()).isNull();
+    }
+
+    @Test
+    void allowsWhitespaceAndAnyOrder() {
+        VerifiedToken verified = read(" {\n\t\"exp\" : 20 ,\r\n \"sub\":\"bob\", \"jti\": \"j\" , \"iat\":10 } ");
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.getSubject()).isEqualTo("bob");
+        assertThat(verified.getIssuedAt()).isEqualTo(10_000L);
+        assertThat(verified.getExpiresAt()).isEqualTo(20_000L);
+    }
+
+    @Test
+    void missingRolesMeansDefault() {
+        VerifiedToken verified = read("{\"sub\":\"bob\",\"jti\":\"j\",\"iat\":1,\"exp\":2}");
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.getRoles()).isEqualTo(Role.DEFAULT);
+    }
+
+    @Test
+    void readsNonAsciiStrings() {
+        byte[] payload = CompactJwt.payload("사용자", "세션", 1, "id", 1_000L, 2_000L);
+
+        VerifiedToken verified = CompactJwt.readPayload(payload, payload.length);
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.getSubject()).isEqualTo("사용자");
+        assertThat(verified.getSessionId()).isEqualTo("세션");
+    }
+
+    @Test
+    void escapedValuesAreLeftToJjwt() {
+        // 작성은 이스케이프해서 올바른 JSON을 만들고, 해석은 jjwt로 넘김
+        byte[] payload = CompactJwt.payload("a\"b\\c\nd", null, 1, "id", 1_000L, 2_000L);
+
+        assertThat(new String(payload, StandardCharsets.UTF_8)).contains("\"a\\\"b\\\\c\\u000ad\"");
+        assertThat(CompactJwt.readPayload(payload, payload.length)).isNull();
+    }
+
+    // 고정 집합을 벗어난 모양은 모두 null (jjwt로 다시 해석)
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"sub\":\"a\",\"sub\":\"b\",\"exp\":2}",
+            "{\"iat_ms\":1,\"iat_ms\":2}",
+            "{\"iat_mx\":1}",
+            "{\"sub\":\"a\",\"typ\":\"refresh\",\"exp\":2}",
+            "{\"sub\":\"a\",\"roles\":1,\"exp\":2}",
+            "{\"sub\":\"a\",\"exp\":2.5}",
+            "{\"sub\":\"a\",\"exp\":2e3}",
+            "{\"sub\":\"a\",\"exp\":-2}",
+            "{\"sub\":\"a\",\"exp\":\"2\"}",
+            "{\"sub\":1,\"exp\":2}",
+            "{\"sub\":null,\"exp\":2}",
+            "{\"sub\":\"a\",\"exp\":1234567890123456789}",
+            "{\"sub\":\"a\",\"rl\":4294967296}",
+            "{\"sub\":\"a\"\"exp\":2}",
+            "{\"sub\":\"a\",}",
+            "{\"sub\":\"a\"",
+            "{\"sub\":\"a}",
+            "{\"sub\":\"a\"} {}",
+            "[]",
+            ""
+    })
+    void rejectsUnsupportedShapes(String json) {
+        assertThat(read(json)).isNull();
+    }
+
+    @Test
+    void readsEmptyObject() {
+        VerifiedToken verified = read("{}");
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.getSubject()).isNull();
+        assertThat(verified.getExpiresAt()).isZero();
+    }
+}
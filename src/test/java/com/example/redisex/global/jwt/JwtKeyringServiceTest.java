@@ -0,0 +1,227 @@
+package com.example.redisex.global.jwt;
+
+import com.example.redisex.support.EmbeddedRedis;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    redis 키링의 kid 조회, 교체 후 이전 키 유지와 퇴역, 설정 파일 키의 퇴역을 내장 redis에서 검증
+    노드마다 JwtSigner와 JwtKeyringService를 따로 만들어 여러 노드를 흉내 냄
+ */
+class JwtKeyringServiceTest {
+    private static final String SECRET = JwtTokenProviderTest.SECRET;
+    private static final long RETIRE_AFTER = 60_000L;
+
+    private final RedisTemplate<String, String> redisTemplate = EmbeddedRedis.template();
+    private final List<RedisMessageListenerContainer> containers = new ArrayList<>();
+    private final List<JwtKeyringService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (JwtKeyringService service : services) service.destroy();
+        for (RedisMessageListenerContainer container : containers) container.destroy();
+    }
+
+    private record Node(JwtSigner signer, JwtKeyringService keyring) {
+        String sign(String subject) {
+            return signer.sign(Jwts.builder().setSubject(subject));
+        }
+
+        String verify(String token) {
+            return signer.parser().parseClaimsJws(token).getBody().getSubject();
+        }
+    }
+
+    // subscribe가 false면 pub/sub 알림을 받지 않는 노드 (모르는 kid 경로 확인용)
+    private Node node(long retireAfter, boolean subscribe) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(EmbeddedRedis.connectionFactory());
+        container.afterPropertiesSet();
+        if (subscribe) container.start();
+        containers.add(container);
+
+        JwtSigner signer = new JwtSigner(SECRET, "HS256", "", "", "");
+        JwtKeyringService service = new JwtKeyringService(
+                redisTemplate, new ObjectMapper(), signer, container, retireAfter, 0L);
+        service.init();
+        services.add(service);
+        return new Node(signer, service);
+    }
+
+    // 키링 도입 이전 방식 : kid 없이 설정 파일의 키로 서명
+    private static String legacyToken(String subject) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .signWith(JwtSigner.hmacKey(Decoders.BASE64.decode(SECRET)))
+                .compact();
+    }
+
+    private static String kid(String token) {
+        String header = token.substring(0, token.indexOf('.'));
+        String json = new String(java.util.Base64.getUrlDecoder().decode(header));
+        int start = json.indexOf("\"" + JwsHeader.KEY_ID + "\":\"") + 7;
+        return json.substring(start, json.indexOf('"', start));
+    }
+
+    @Test
+    void signsWithRotatedKeyAndKeepsPreviousForVerification() throws Exception {
+        Node node = node(RETIRE_AFTER, true);
+        String before = node.sign("alice");
+
+        String kid = node.keyring().rotate();
+        String after = node.sign("bob");
+
+        assertThat(kid(after)).isEqualTo(kid).isNotEqualTo(kid(before));
+        assertThat(node.verify(before)).isEqualTo("alice");
+        assertThat(node.verify(after)).isEqualTo("bob");
+    }
+
+    @Test
+    void otherNodesPickUpRotationThroughPubSub() throws Exception {
+        Node node1 = node(RETIRE_AFTER, true);
+        Node node2 = node(RETIRE_AFTER, true);
+
+        String kid = node1.keyring().rotate();
+
+        assertThat(await(() -> kid.equals(node2.signer().getKeyId()))).isTrue();
+        assertThat(node2.verify(node1.sign("alice"))).isEqualTo("alice");
+    }
+
+    @Test
+    void unknownKidIsRejectedImmediatelyAndReloadedInBackground() throws Exception {
+        Node node1 = node(RETIRE_AFTER, true);
+        Node deaf = node(RETIRE_AFTER, false);
+        node1.keyring().rotate();
+        String token = node1.sign("alice");
+        // init 직후 재조회 간격(1초)이 지나야 모르는 kid로 재조회를 요청할 수 있음
+        Thread.sleep(1100);
+
+        assertThatThrownBy(() -> deaf.verify(token)).isInstanceOf(SignatureException.class);
+
+        assertThat(await(() -> {
+            try {
+                return "alice".equals(deaf.verify(token));
+            } catch (SignatureException e) {
+                return false;
+            }
+        })).isTrue();
+    }
+
+    @Test
+    void unknownKidReloadIsThrottled() throws Exception {
+        Node node1 = node(RETIRE_AFTER, true);
+        Node deaf = node(RETIRE_AFTER, false);
+        node1.keyring().rotate();
+        String token = node1.sign("alice");
+
+        // init에서 막 읽었으므로 1초 안에는 다시 읽지 않음
+        for (int i = 0; i < 10; i++)
+            assertThatThrownBy(() -> deaf.verify(token)).isInstanceOf(SignatureException.class);
+        Thread.sleep(200);
+        assertThatThrownBy(() -> deaf.verify(token)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void retiredKeysAreDroppedAfterRetireWindow() throws Exception {
+        Node node = node(300L, true);
+        node.keyring().rotate();
+        String old = node.sign("alice");
+        String oldKid = kid(old);
+
+        node.keyring().rotate();
+        assertThat(node.verify(old)).isEqualTo("alice");
+
+        Thread.sleep(400);
+        // 다음 교체에서 만료된 키를 지움 (rotate 직후 reload)
+        node.keyring().rotate();
+
+        assertThat(redisTemplate.opsForHash().hasKey("jwt:keys", oldKid)).isFalse();
+        assertThatThrownBy(() -> node.verify(old)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void bootstrapKeyIsRetiredOneWindowAfterFirstRedisKey() throws Exception {
+        Node node = node(300L, true);
+        String legacy = legacyToken("alice");
+        String bootstrapSigned = node.sign("bob");
+        assertThat(node.verify(legacy)).isEqualTo("alice");
+
+        node.keyring().rotate();
+        // 창이 지나기 전에는 설정 파일의 키와 kid 없는 토큰 모두 유효
+        assertThat(node.verify(legacy)).isEqualTo("alice");
+        assertThat(node.verify(bootstrapSigned)).isEqualTo("bob");
+        assertThat(redisTemplate.opsForValue().get("jwt:keys:bootstrap-retire-at")).isNotNull();
+
+        Thread.sleep(400);
+        node.keyring().reload();
+
+        assertThatThrownBy(() -> node.verify(legacy)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> node.verify(bootstrapSigned)).isInstanceOf(SignatureException.class);
+        assertThat(node.verify(node.sign("carol"))).isEqualTo("carol");
+    }
+
+    @Test
+    void bootstrapRetireTimeIsNotMovedByLaterRotations() throws Exception {
+        Node node = node(RETIRE_AFTER, true);
+        node.keyring().rotate();
+        String first = redisTemplate.opsForValue().get("jwt:keys:bootstrap-retire-at");
+
+        Thread.sleep(5);
+        node.keyring().rotate();
+
+        assertThat(redisTemplate.opsForValue().get("jwt:keys:bootstrap-retire-at")).isEqualTo(first);
+    }
+
+    @Test
+    void bootstrapKeyStaysWhileRedisHasNoActiveKey() {
+        Node node = node(0L, true);
+        node.keyring().reload();
+
+        assertThat(node.verify(legacyToken("alice"))).isEqualTo("alice");
+        assertThat(node.verify(node.sign("bob"))).isEqualTo("bob");
+    }
+
+    @Test
+    void manualRotationIsLockedAcrossNodes() {
+        Node node1 = node(RETIRE_AFTER, true);
+        Node node2 = node(RETIRE_AFTER, true);
+
+        String kid = node1.keyring().rotateNow();
+
+        assertThat(kid).isEqualTo(node1.signer().getKeyId());
+        assertThatThrownBy(() -> node2.keyring().rotateNow())
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) return true;
+            Thread.sleep(20);
+        }
+        return condition.getAsBoolean();
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.redisex.global.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    jjwt를 거치지 않는 verifyFast 경로 : 처리할 수 있는 토큰은 jjwt와 같은 결과, 나머지는 null로 jjwt에 넘기는지 검증
+ */
+class JwtSignerTest {
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final JwtSigner signer = new JwtSigner(JwtTokenProviderTest.SECRET, "HS256", "", "", "");
+
+    private String compact(String json) {
+        return signer.signCompact(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String compact(long expiresAtSeconds) {
+        return signer.signCompact(CompactJwt.payload("alice", "session-1", 1, "jti-1", NOW, expiresAtSeconds * 1000));
+    }
+
+    @Test
+    void verifiesCompactTokenLikeJjwt() {
+        String token = compact(NOW / 1000 + 60);
+
+        VerifiedToken verified = signer.verifyFast(token, NOW);
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.getSubject()).isEqualTo("alice");
+        assertThat(verified.getSessionId()).isEqualTo("session-1");
+        assertThat(verified.getId()).isEqualTo("jti-1");
+        assertThat(verified.getExpiresAt()).isEqualTo(NOW + 60_000L);
+        // 결과 토큰은 표준 JWS이므로 jjwt도 같은 키로 검증할 수 있어야 함
+        Claims claims = signer.parser().parseClaimsJws(compact(System.currentTimeMillis() / 1000 + 60)).getBody();
+        assertThat(claims.getSubject()).isEqualTo("alice");
+    }
+
+    @Test
+    void rejectsTamperedSignature() {
+        String token = compact(NOW / 1000 + 60);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> signer.verifyFast(tampered, NOW)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String token = compact(NOW / 1000 + 60);
+        String[] parts = token.split("\\.");
+        String payload = CompactJwt.ENCODER.encodeToString(
+                CompactJwt.payload("mallory", "session-1", 1, "jti-1", NOW, NOW + 60_000));
+
+        assertThatThrownBy(() -> signer.verifyFast(parts[0] + '.' + payload + '.' + parts[2], NOW))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void rejectsTruncatedSignature() {
+        String token = compact(NOW / 1000 + 60);
+
+        assertThatThrownBy(() -> signer.verifyFast(token.substring(0, token.length() - 4), NOW))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String token = compact(NOW / 1000 - 1);
+
+        assertThatThrownBy(() -> signer.verifyFast(token, NOW)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void tokenWithoutExpiryIsNotExpired() {
+        String token = compact("{\"sub\":\"alice\",\"jti\":\"j\"}");
+
+        assertThat(signer.verifyFast(token, NOW)).isNotNull();
+    }
+
+    @Test
+    void leavesUnsupportedClaimsToJjwt() {
+        // 서명은 맞지만 고정 집합이 아닌 클레임 (refresh 토큰의 typ 등)
+        String token = compact("{\"sub\":\"alice\",\"typ\":\"refresh\",\"exp\":" + (System.currentTimeMillis() / 1000 + 60) + "}");
+
+        assertThat(signer.verifyFast(token, NOW)).isNull();
+        assertThat(signer.parser().parseClaimsJws(token).getBody().get("typ")).isEqualTo("refresh");
+    }
+
+    @Test
+    void standardTokenWithFixedClaimsTakesFastPath() {
+        // jjwt가 만든 헤더도 바이트가 같고 클레임이 고정 집합이면 빠른 경로에서 같은 결과를 냄
+        String standard = signer.sign(Jwts.builder().setSubject("alice").setExpiration(new Date(NOW + 60_000)));
+
+        VerifiedToken verified = signer.verifyFast(standard, NOW);
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.getSubject()).isEqualTo("alice");
+        assertThat(verified.getExpiresAt()).isEqualTo(NOW + 60_000);
+    }
+
+    @Test
+    void leavesOtherHeadersToJjwt() {
+        String typed = signer.sign(Jwts.builder().setHeaderParam("typ", "JWT")
+                .setSubject("alice").setExpiration(new Date(NOW + 60_000)));
+
+        assertThat(signer.verifyFast(typed, NOW)).isNull();
+    }
+
+    @Test
+    void rejectsKidlessTokenFromOtherSecret() {
+        // kid 없는 헤더는 설정 파일의 키로 검증하므로 다른 비밀 키로 서명한 토큰은 서명 오류 (jjwt와 같음)
+        String other = new JwtSigner(JwtTokenProviderTest.SECRET.replace('a', 'b'), "HS256", "", "", "")
+                .signCompact(CompactJwt.payload("alice", null, 1, "j", NOW, NOW + 60_000));
+
+        assertThatThrownBy(() -> signer.verifyFast(other, NOW)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void followsKeyRotation() {
+        SecretKey secret = JwtSigner.hmacKey(JwtTokenProviderTest.SECRET.replace('a', 'c').getBytes(StandardCharsets.UTF_8));
+        JwtKeyring.SigningKey rotated = new JwtKeyring.SigningKey("k2", JwtSigner.Algorithm.HS256, secret, secret);
+        JwtSigner issuer = new JwtSigner(JwtTokenProviderTest.SECRET, "HS256", "", "", "");
+        issuer.update(rotated, List.of(), false);
+        String token = issuer.signCompact(CompactJwt.payload("alice", null, 1, "j", NOW, NOW + 60_000));
+
+        // 아직 모르는 kid는 jjwt 경로(키링 재조회 요청)로 넘김
+        assertThat(signer.verifyFast(token, NOW)).isNull();
+        // 퇴역 중인 키로 남아 있어도 빠른 경로로 검증
+        signer.update(null, List.of(rotated), false);
+        assertThat(signer.verifyFast(token, NOW)).isNotNull();
+    }
+
+    @Test
+    void leavesMalformedTokensToJjwt() {
+        String token = compact(NOW / 1000 + 60);
+        String[] parts = token.split("\\.");
+
+        assertThat(signer.verifyFast("not-a-jwt", NOW)).isNull();
+        assertThat(signer.verifyFast(parts[0] + '.' + parts[1], NOW)).isNull();
+        assertThat(signer.verifyFast(token + ".extra", NOW)).isNull();
+        assertThat(signer.verifyFast(parts[0] + ".@@@." + parts[2], NOW)).isNull();
+    }
+
+    @Test
+    void es256SignerHasNoFastPath() {
+        JwtSigner es256 = new JwtSigner(JwtTokenProviderTest.SECRET, "ES256", "", "", "");
+        String token = es256.sign(Jwts.builder().setSubject("alice").setExpiration(new Date(NOW + 60_000)));
+
+        assertThat(es256.supportsCompact()).isFalse();
+        assertThat(es256.verifyFast(token, NOW)).isNull();
+    }
+}
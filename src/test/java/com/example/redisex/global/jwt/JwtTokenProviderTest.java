@@ -0,0 +1,167 @@
+package com.example.redisex.global.jwt;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+    static final String SECRET = "aaaabbbsdifqbvaesoioegwaaaabbbsdifqbvaesoioegwaaaabbbsdifqbvaesasdfqve";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtSigner signer;
+    private JwtTokenProvider provider;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        signer = new JwtSigner(SECRET, "HS256", "", "", "");
+        provider = provider(signer, new VerifiedTokenCache(true, 100), meterRegistry, "standard");
+        authentication = new UsernamePasswordAuthenticationToken(
+                "alice", null, List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+    }
+
+    static JwtTokenProvider provider(JwtSigner signer, VerifiedTokenCache cache, SimpleMeterRegistry meterRegistry,
+                                     String profile) {
+        JwtTokenProvider provider = new JwtTokenProvider(null, cache, null, new AuthMetrics(meterRegistry), signer);
+        ReflectionTestUtils.setField(provider, "accessExpirationTime", 60_000L);
+        ReflectionTestUtils.setField(provider, "refreshExpirationTime", 120_000L);
+        ReflectionTestUtils.setField(provider, "tokenProfile", profile);
+        ReflectionTestUtils.setField(provider, "fastVerify", true);
+        return provider;
+    }
+
+    @Test
+    void verifiesAccessTokenClaims() {
+        String token = provider.createAccessToken(authentication, "session-1");
+
+        VerifiedToken verified = provider.verify(token);
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.getSubject()).isEqualTo("alice");
+        assertThat(verified.getSessionId()).isEqualTo("session-1");
+        assertThat(verified.getRoles()).isEqualTo(0b11);
+        assertThat(verified.getId()).isNotBlank();
+        assertThat(verified.getExpiresAt()).isGreaterThan(System.currentTimeMillis());
+    }
+
+    @Test
+    void issuedAtKeepsMilliseconds() {
+        JwtTokenProvider compact = provider(signer, new VerifiedTokenCache(false, 0), meterRegistry, "compact");
+        long before = System.currentTimeMillis();
+        String standardToken = provider.createAccessToken(authentication, "session-1");
+        String compactToken = compact.createAccessToken(authentication, "session-1");
+        long after = System.currentTimeMillis();
+
+        // not-before(ms)와 같은 초 안에서도 앞뒤를 가릴 수 있도록 iat_ms로 밀리초까지 유지
+        assertThat(provider.verify(standardToken).getIssuedAt()).isBetween(before, after);
+        assertThat(compact.verify(compactToken).getIssuedAt()).isBetween(before, after);
+    }
+
+    @Test
+    void secondVerifyIsServedFromCache() {
+        String token = provider.createAccessToken(authentication, "session-1");
+
+        VerifiedToken first = provider.verify(token);
+        VerifiedToken second = provider.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("auth.token.verify").tag("cache", "hit").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsRefreshTokenAsAccessToken() {
+        String refreshToken = provider.generateRefreshToken(authentication, "session-1");
+
+        assertThat(provider.verify(refreshToken)).isNull();
+        assertThat(provider.failureReason(refreshToken)).isEqualTo(AuthMetrics.FailureReason.WRONG_TYPE);
+        assertThat(provider.verifyRefreshToken(refreshToken)).isNotNull();
+    }
+
+    @Test
+    void rejectsTamperedToken() {
+        String token = provider.createAccessToken(authentication, "session-1");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(provider.verify(tampered)).isNull();
+        assertThat(provider.failureReason(tampered)).isEqualTo(AuthMetrics.FailureReason.SIGNATURE);
+    }
+
+    @Test
+    void rejectsTokenFromOtherKey() {
+        JwtSigner other = new JwtSigner(SECRET.replace('a', 'b'), "HS256", "", "", "");
+        String token = provider(other, new VerifiedTokenCache(false, 0), meterRegistry, "standard")
+                .createAccessToken(authentication, "session-1");
+
+        assertThat(provider.verify(token)).isNull();
+    }
+
+    @Test
+    void compactProfileUsesFastPath() {
+        JwtTokenProvider compact = provider(signer, new VerifiedTokenCache(false, 0), meterRegistry, "compact");
+        String token = compact.createAccessToken(authentication, "session-1");
+
+        VerifiedToken verified = compact.verify(token);
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.getSubject()).isEqualTo("alice");
+        assertThat(verified.getRoles()).isEqualTo(0b11);
+        // standard 프로필 토큰도 같은 provider에서 jjwt 경로로 검증됨
+        assertThat(compact.verify(provider.createAccessToken(authentication, "session-2")).getSessionId())
+                .isEqualTo("session-2");
+    }
+
+    @Test
+    void warnsOnceWhenCompactProfileFallsBackToStandard() {
+        JwtSigner es256 = new JwtSigner(SECRET, "ES256", "", "", "");
+        JwtTokenProvider compact = provider(es256, new VerifiedTokenCache(false, 0), meterRegistry, "compact");
+        Logger logger = (Logger) LoggerFactory.getLogger(JwtTokenProvider.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            compact.checkTokenProfile();
+            String token = compact.createAccessToken(authentication, "session-1");
+            compact.createAccessToken(authentication, "session-1");
+
+            // ES256 키로는 standard 토큰을 발급하고, 경고는 한 번만 남김
+            assertThat(compact.verify(token).getSubject()).isEqualTo("alice");
+            assertThat(warnings(appender)).isEqualTo(1);
+
+            // HS256 키로 교체되었다가 다시 ES256으로 돌아오면 다시 경고
+            SecretKey secret = JwtSigner.hmacKey(SECRET.getBytes(StandardCharsets.UTF_8));
+            es256.update(new JwtKeyring.SigningKey("hs", JwtSigner.Algorithm.HS256, secret, secret), List.of(), false);
+            compact.createAccessToken(authentication, "session-1");
+            es256.update(null, List.of(), false);
+            compact.createAccessToken(authentication, "session-1");
+            assertThat(warnings(appender)).isEqualTo(2);
+        } finally {
+            logger.detachAppender(appender);
+        }
+    }
+
+    private static long warnings(ListAppender<ILoggingEvent> appender) {
+        return appender.list.stream().filter(event -> event.getLevel() == Level.WARN).count();
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThat(provider.verify("not-a-jwt")).isNull();
+        assertThat(provider.failureReason("not-a-jwt")).isEqualTo(AuthMetrics.FailureReason.MALFORMED);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.redisex.global.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenRecordSerializerTest {
+    private final RefreshTokenRecordSerializer serializer = RefreshTokenRecordSerializer.INSTANCE;
+
+    @Test
+    void roundTripsFixedSizeRecord() {
+        RefreshTokenRecord record = new RefreshTokenRecord(RefreshTokenRecord.digest("token"), 1_700_000_000_123L, 7);
+
+        byte[] bytes = serializer.serialize(record);
+
+        assertThat(bytes).hasSize(29);
+        assertThat(bytes[0]).isEqualTo(RefreshTokenRecordSerializer.VERSION);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(record);
+    }
+
+    @Test
+    void readsLegacyJwtValueAsDigest() {
+        RefreshTokenRecord record = serializer.deserialize("header.payload.signature".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(record.digest()).isEqualTo(RefreshTokenRecord.digest("header.payload.signature"));
+        assertThat(record.issuedAt()).isZero();
+        assertThat(record.generation()).isZero();
+    }
+
+    @Test
+    void digestIsTruncatedSha256() {
+        assertThat(RefreshTokenRecord.digest("token")).hasSize(RefreshTokenRecord.DIGEST_LENGTH);
+        assertThat(RefreshTokenRecord.digest("token")).isNotEqualTo(RefreshTokenRecord.digest("token2"));
+    }
+}
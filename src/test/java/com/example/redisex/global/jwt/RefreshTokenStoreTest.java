@@ -0,0 +1,202 @@
+package com.example.redisex.global.jwt;
+
+import com.example.redisex.global.redis.RedisWriteCoalescer;
+import com.example.redisex.support.EmbeddedRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    refresh-token-save.lua / refresh-token-rotate.lua를 내장 redis에서 RefreshTokenStore를 통해 검증
+ */
+class RefreshTokenStoreTest {
+    private static final long TTL = 60_000L;
+
+    private final RedisTemplate<String, String> redisTemplate = EmbeddedRedis.template();
+    private RedisWriteCoalescer writeCoalescer;
+    private RefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll();
+        writeCoalescer = new RedisWriteCoalescer(
+                redisTemplate, new SimpleMeterRegistry(), true, 64, 100, 1000, Duration.ofSeconds(2));
+        store = store(2, true);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writeCoalescer.destroy();
+    }
+
+    private RefreshTokenStore store(int maxSessions, boolean legacyRead) {
+        return new RefreshTokenStore(redisTemplate, writeCoalescer, TTL, maxSessions, "ack", legacyRead);
+    }
+
+    @Test
+    void savesCompactRecordWithTtl() {
+        store.save("alice", "s1", "token-1");
+
+        RefreshTokenRecord record = record("alice", "s1");
+        assertThat(record.digest()).isEqualTo(RefreshTokenRecord.digest("token-1"));
+        assertThat(record.generation()).isZero();
+        assertThat(redisTemplate.getExpire("rt:{alice}")).isPositive();
+        assertThat(redisTemplate.getExpire("rs:{alice}")).isPositive();
+        assertThat(store.countSessions("alice")).isEqualTo(1);
+    }
+
+    @Test
+    void rotatesAndBumpsGeneration() {
+        store.save("alice", "s1", "token-1");
+
+        assertThat(store.rotate("alice", "s1", "token-1", "token-2")).isEqualTo(RefreshTokenStore.RotationResult.ROTATED);
+        assertThat(store.rotate("alice", "s1", "token-2", "token-3")).isEqualTo(RefreshTokenStore.RotationResult.ROTATED);
+
+        RefreshTokenRecord record = record("alice", "s1");
+        assertThat(record.digest()).isEqualTo(RefreshTokenRecord.digest("token-3"));
+        assertThat(record.generation()).isEqualTo(2);
+    }
+
+    @Test
+    void reuseOfRotatedTokenRevokesSession() {
+        store.save("alice", "s1", "token-1");
+        store.rotate("alice", "s1", "token-1", "token-2");
+
+        assertThat(store.rotate("alice", "s1", "token-1", "token-3")).isEqualTo(RefreshTokenStore.RotationResult.REUSED);
+        // 정상 사용자가 가진 최신 토큰도 더는 쓸 수 없음
+        assertThat(store.rotate("alice", "s1", "token-2", "token-3")).isEqualTo(RefreshTokenStore.RotationResult.NOT_FOUND);
+        assertThat(store.countSessions("alice")).isZero();
+    }
+
+    @Test
+    void unknownOrExpiredSessionIsNotFound() {
+        assertThat(store.rotate("alice", "missing", "token-1", "token-2"))
+                .isEqualTo(RefreshTokenStore.RotationResult.NOT_FOUND);
+
+        store.save("alice", "s1", "token-1");
+        redisTemplate.opsForZSet().add("rs:{alice}", "s1", System.currentTimeMillis() - 1);
+        assertThat(store.rotate("alice", "s1", "token-1", "token-2")).isEqualTo(RefreshTokenStore.RotationResult.NOT_FOUND);
+        assertThat(hasField("rt:{alice}", "s1")).isFalse();
+    }
+
+    @Test
+    void evictsOldestSessionOverLimit() throws InterruptedException {
+        store.save("alice", "s1", "token-1");
+        Thread.sleep(2);
+        store.save("alice", "s2", "token-2");
+        Thread.sleep(2);
+        store.save("alice", "s3", "token-3");
+
+        assertThat(store.countSessions("alice")).isEqualTo(2);
+        assertThat(store.findSessions("alice", 0, 10)).extracting(RefreshTokenStore.Session::sessionId)
+                .containsExactly("s3", "s2");
+        assertThat(store.rotate("alice", "s1", "token-1", "token-4")).isEqualTo(RefreshTokenStore.RotationResult.NOT_FOUND);
+    }
+
+    @Test
+    void rotatesLegacySessionIntoNewKeys() {
+        long expiresAt = System.currentTimeMillis() + TTL;
+        putLegacy("alice", "old", "legacy.jwt.token");
+        redisTemplate.opsForZSet().add("refresh-sessions:{alice}", "old", expiresAt);
+
+        assertThat(store.rotate("alice", "old", "legacy.jwt.token", "token-2"))
+                .isEqualTo(RefreshTokenStore.RotationResult.ROTATED);
+
+        assertThat(hasField("refresh:{alice}", "old")).isFalse();
+        assertThat(redisTemplate.opsForZSet().score("refresh-sessions:{alice}", "old")).isNull();
+        RefreshTokenRecord record = record("alice", "old");
+        assertThat(record.digest()).isEqualTo(RefreshTokenRecord.digest("token-2"));
+        assertThat(record.generation()).isEqualTo(1);
+    }
+
+    @Test
+    void legacySessionWithWrongTokenIsReuse() {
+        putLegacy("alice", "old", "legacy.jwt.token");
+        redisTemplate.opsForZSet().add("refresh-sessions:{alice}", "old", System.currentTimeMillis() + TTL);
+
+        assertThat(store.rotate("alice", "old", "other.jwt.token", "token-2"))
+                .isEqualTo(RefreshTokenStore.RotationResult.REUSED);
+        assertThat(hasField("refresh:{alice}", "old")).isFalse();
+    }
+
+    @Test
+    void legacySessionsAreIgnoredWhenLegacyReadIsOff() {
+        putLegacy("alice", "old", "legacy.jwt.token");
+        redisTemplate.opsForZSet().add("refresh-sessions:{alice}", "old", System.currentTimeMillis() + TTL);
+        RefreshTokenStore current = store(2, false);
+
+        assertThat(current.rotate("alice", "old", "legacy.jwt.token", "token-2"))
+                .isEqualTo(RefreshTokenStore.RotationResult.NOT_FOUND);
+        assertThat(current.countSessions("alice")).isZero();
+    }
+
+    @Test
+    void findsSessionsAcrossLegacyAndNewKeys() {
+        long now = System.currentTimeMillis();
+        redisTemplate.opsForZSet().add("refresh-sessions:{alice}", "legacy-1", now + 10_000);
+        redisTemplate.opsForZSet().add("refresh-sessions:{alice}", "legacy-2", now + 30_000);
+        redisTemplate.opsForZSet().add("rs:{alice}", "new-1", now + 20_000);
+        redisTemplate.opsForZSet().add("rs:{alice}", "expired", now - 1);
+
+        assertThat(store.countSessions("alice")).isEqualTo(3);
+        assertThat(store.findSessions("alice", 0, 2)).extracting(RefreshTokenStore.Session::sessionId)
+                .containsExactly("legacy-2", "new-1");
+        assertThat(store.findSessions("alice", 1, 2)).extracting(RefreshTokenStore.Session::sessionId)
+                .containsExactly("legacy-1");
+    }
+
+    @Test
+    void rejectsInvalidPaging() {
+        assertThatThrownBy(() -> store.findSessions("alice", -1, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.findSessions("alice", 0, 0)).isInstanceOf(IllegalArgumentException.class);
+        // (page + 1) * size가 int를 넘어도 redis 오류 없이 빈 페이지
+        assertThat(store.findSessions("alice", Integer.MAX_VALUE / 2, 100)).isEmpty();
+    }
+
+    @Test
+    void revokesOneOrAllSessions() {
+        store.save("alice", "s1", "token-1");
+        store.save("alice", "s2", "token-2");
+        store.save("bob", "s1", "token-3");
+
+        store.revoke("alice", "s1");
+        assertThat(store.findSessions("alice", 0, 10)).extracting(RefreshTokenStore.Session::sessionId)
+                .containsExactly("s2");
+
+        store.revokeAll(List.of("alice", "bob"));
+        assertThat(store.countSessions("alice")).isZero();
+        assertThat(store.countSessions("bob")).isZero();
+    }
+
+    // 이전 형식 값은 lua 스크립트가 문자열 그대로 저장했으므로 직렬화 없이 기록
+    private void putLegacy(String username, String sessionId, String token) {
+        redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.hashCommands().hSet(
+                bytes("refresh:{" + username + "}"), bytes(sessionId), bytes(token)));
+    }
+
+    private boolean hasField(String key, String field) {
+        return Boolean.TRUE.equals(redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.hashCommands().hExists(bytes(key), bytes(field))));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private RefreshTokenRecord record(String username, String sessionId) {
+        byte[] value = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.hashCommands().hGet(
+                bytes("rt:{" + username + "}"), bytes(sessionId)));
+        assertThat(value).hasSize(RefreshTokenRecordSerializer.SIZE);
+        return RefreshTokenRecordSerializer.INSTANCE.deserialize(value);
+    }
+}
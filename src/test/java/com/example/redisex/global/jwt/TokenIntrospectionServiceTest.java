@@ -0,0 +1,108 @@
+package com.example.redisex.global.jwt;
+
+import com.example.redisex.support.EmbeddedRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+    토큰별 결과가 요청 순서와 맞는지, 파이프라인 결과가 토큰마다 올바르게 나뉘는지 내장 redis에서 검증
+ */
+class TokenIntrospectionServiceTest {
+    private final RedisTemplate<String, String> redisTemplate = EmbeddedRedis.template();
+    private final JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+    private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+    private final RefreshTokenStore refreshTokenStore = mock(RefreshTokenStore.class);
+    private TokenIntrospectionService service;
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll();
+        // 묶음 크기 2 : 여러 묶음이 풀에서 병렬로 검증되어도 순서가 유지되는지 확인
+        service = new TokenIntrospectionService(jwtTokenProvider, tokenRevocationService, refreshTokenStore,
+                redisTemplate, new SimpleMeterRegistry(), 2, 16, 2, 5_000L);
+        when(jwtTokenProvider.failureReason(anyString())).thenReturn(AuthMetrics.FailureReason.SIGNATURE);
+        when(tokenRevocationService.isBeforeCutoff(any())).thenReturn(false);
+        when(tokenRevocationService.mightBeRevoked(anyString())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    // name이 토큰 문자열, jti, 사용자, 세션 ID로 모두 쓰임
+    private void token(String name) {
+        when(jwtTokenProvider.verify(name)).thenReturn(VerifiedToken.builder()
+                .subject("user-" + name).id("jti-" + name).sessionId("sid-" + name)
+                .issuedAt(System.currentTimeMillis()).expiresAt(System.currentTimeMillis() + 60_000).build());
+    }
+
+    private void session(String name, String key) {
+        redisTemplate.opsForZSet().add(key, "sid-" + name, System.currentTimeMillis() + 60_000);
+    }
+
+    private List<String> statuses(List<TokenIntrospectionResultDto.Result> results) {
+        List<String> statuses = new ArrayList<>();
+        results.forEach(result -> statuses.add(result.getStatus()));
+        return statuses;
+    }
+
+    @Test
+    void resultsFollowRequestOrder() {
+        List<String> names = Arrays.asList("a", "bad", "b", "c", "", "d", "e");
+        for (String name : List.of("a", "b", "c", "d", "e")) token(name);
+        session("a", RefreshTokenStore.sessionsKey("user-a"));
+        session("c", RefreshTokenStore.sessionsKey("user-c"));
+        session("e", RefreshTokenStore.sessionsKey("user-e"));
+        redisTemplate.opsForValue().set(TokenRevocationService.revokedKey("jti-c"), "1");
+
+        List<TokenIntrospectionResultDto.Result> results = service.introspect(names);
+
+        assertThat(statuses(results)).containsExactly(
+                "active", "signature", "session-ended", "revoked", "illegal-argument", "session-ended", "active");
+        assertThat(results.get(0).getSub()).isEqualTo("user-a");
+        assertThat(results.get(0).getSessionActive()).isTrue();
+        // 세션 종료는 참고 정보, 요청 필터와 같이 토큰은 유효
+        assertThat(results.get(2).isActive()).isTrue();
+        assertThat(results.get(2).getSub()).isEqualTo("user-b");
+        assertThat(results.get(2).getSessionActive()).isFalse();
+        assertThat(results.get(3).isActive()).isFalse();
+        assertThat(results.get(6).getJti()).isEqualTo("jti-e");
+    }
+
+    @Test
+    void legacySessionKeepsTokenActive() {
+        when(refreshTokenStore.isLegacyRead()).thenReturn(true);
+        for (String name : List.of("a", "b", "c")) token(name);
+        session("a", RefreshTokenStore.legacySessionsKey("user-a"));
+        session("c", RefreshTokenStore.sessionsKey("user-c"));
+        // b만 블룸 필터를 통과하지 않아 EXISTS 없이 세션만 확인 (토큰마다 명령 수가 다름)
+        when(tokenRevocationService.mightBeRevoked("jti-b")).thenReturn(false);
+
+        List<TokenIntrospectionResultDto.Result> results = service.introspect(List.of("a", "b", "c"));
+
+        assertThat(statuses(results)).containsExactly("active", "session-ended", "active");
+    }
+
+    @Test
+    void cutoffRevokesWithoutRedis() {
+        token("a");
+        session("a", RefreshTokenStore.sessionsKey("user-a"));
+        when(tokenRevocationService.isBeforeCutoff(any())).thenReturn(true);
+
+        assertThat(statuses(service.introspect(List.of("a")))).containsExactly("revoked");
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.redisex.global.jwt;
+
+import com.example.redisex.support.EmbeddedRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    jti 단위 폐기와 사용자별 not-before를 내장 redis에서 검증
+    두 개의 서비스 인스턴스로 pub/sub과 주기적 동기화를 통한 노드 간 전파도 확인
+ */
+class TokenRevocationServiceTest {
+    private static final long ACCESS_TTL = 60_000L;
+
+    private final RedisTemplate<String, String> redisTemplate = EmbeddedRedis.template();
+    private RedisMessageListenerContainer listenerContainer;
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll();
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(EmbeddedRedis.connectionFactory());
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        listenerContainer.destroy();
+    }
+
+    private TokenRevocationService service() {
+        return new TokenRevocationService(redisTemplate, listenerContainer, 1000, 0.01, ACCESS_TTL);
+    }
+
+    private static VerifiedToken token(String subject, String jti, long issuedAt) {
+        return VerifiedToken.builder()
+                .subject(subject)
+                .id(jti)
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt + ACCESS_TTL)
+                .build();
+    }
+
+    @Test
+    void revokesSingleToken() {
+        TokenRevocationService service = service();
+        long now = System.currentTimeMillis();
+        VerifiedToken revoked = token("alice", "jti-1", now);
+
+        service.revoke(revoked);
+
+        assertThat(service.isRevoked(revoked)).isTrue();
+        assertThat(service.isRevoked(token("alice", "jti-2", now))).isFalse();
+        assertThat(redisTemplate.getExpire("revoked:jti-1")).isPositive();
+    }
+
+    @Test
+    void ignoresExpiredToken() {
+        TokenRevocationService service = service();
+        VerifiedToken expired = token("alice", "jti-1", System.currentTimeMillis() - 2 * ACCESS_TTL);
+
+        service.revoke(expired);
+
+        assertThat(redisTemplate.hasKey("revoked:jti-1")).isFalse();
+    }
+
+    @Test
+    void notBeforeRejectsEveryEarlierTokenOfThatUserOnly() {
+        TokenRevocationService service = service();
+        long issuedAt = System.currentTimeMillis() - 1;
+
+        service.revokeAllBefore("alice");
+
+        assertThat(service.isRevoked(token("alice", "a1", issuedAt))).isTrue();
+        assertThat(service.isRevoked(token("alice", "a2", issuedAt - 30_000))).isTrue();
+        assertThat(service.isRevoked(token("alice", "a3", 0L))).isTrue();
+        assertThat(service.isRevoked(token("bob", "b1", issuedAt))).isFalse();
+    }
+
+    @Test
+    void tokenIssuedRightAfterRevocationStaysValid() {
+        TokenRevocationService service = service();
+
+        service.revokeAllBefore("alice");
+
+        // 같은 초 안이라도 폐기 이후(같은 밀리초 포함)에 발급된 토큰은 유효 (비밀번호 변경 직후 다시 로그인)
+        assertThat(service.isRevoked(token("alice", "a1", System.currentTimeMillis()))).isFalse();
+    }
+
+    @Test
+    void notBeforePropagatesThroughPubSub() throws InterruptedException {
+        TokenRevocationService node1 = service();
+        TokenRevocationService node2 = service();
+        VerifiedToken token = token("alice", "a1", System.currentTimeMillis() - 1);
+
+        node1.revokeAllBefore("alice");
+
+        assertThat(await(() -> node2.isBeforeCutoff(token))).isTrue();
+    }
+
+    @Test
+    void revocationPropagatesThroughPubSub() throws InterruptedException {
+        TokenRevocationService node1 = service();
+        TokenRevocationService node2 = service();
+        VerifiedToken token = token("alice", "a1", System.currentTimeMillis());
+
+        node1.revoke(token);
+
+        assertThat(await(() -> node2.mightBeRevoked("a1"))).isTrue();
+        assertThat(node2.isRevoked(token)).isTrue();
+    }
+
+    @Test
+    void syncRestoresStateMissedWhileOffline() {
+        TokenRevocationService node1 = service();
+        VerifiedToken revoked = token("alice", "a1", System.currentTimeMillis());
+        VerifiedToken bobs = token("bob", "b1", System.currentTimeMillis() - 1);
+        node1.revoke(revoked);
+        node1.revokeAllBefore("bob");
+
+        // 메시지를 받지 못한 노드도 동기화 후에는 같은 판단
+        TokenRevocationService late = service();
+        late.sync();
+
+        assertThat(late.isRevoked(revoked)).isTrue();
+        assertThat(late.isBeforeCutoff(bobs)).isTrue();
+    }
+
+    @Test
+    void syncDropsNotBeforeOlderThanAccessTokenLifetime() {
+        TokenRevocationService service = service();
+        redisTemplate.opsForZSet().add("not-before", "alice", System.currentTimeMillis() - 2 * ACCESS_TTL);
+
+        service.sync();
+
+        assertThat(redisTemplate.opsForZSet().score("not-before", "alice")).isNull();
+        assertThat(service.isBeforeCutoff(token("alice", "a1", 0L))).isFalse();
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) return true;
+            Thread.sleep(20);
+        }
+        return condition.getAsBoolean();
+    }
+}
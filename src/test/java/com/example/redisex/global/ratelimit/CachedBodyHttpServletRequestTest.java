@@ -0,0 +1,99 @@
+package com.example.redisex.global.ratelimit;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachedBodyHttpServletRequestTest {
+    private static final byte[] BODY = "{\"username\":\"alice\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void bodyCanBeReadRepeatedly() throws IOException {
+        CachedBodyHttpServletRequest request = new CachedBodyHttpServletRequest(new MockHttpServletRequest(), BODY);
+
+        assertThat(request.getInputStream().readAllBytes()).isEqualTo(BODY);
+        assertThat(request.getReader().readLine()).isEqualTo("{\"username\":\"alice\"}");
+    }
+
+    @Test
+    void readBodyRejectsOversizedBody() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(BODY);
+
+        assertThat(CachedBodyHttpServletRequest.readBody(request, BODY.length - 1)).isNull();
+        request.setContent(BODY);
+        assertThat(CachedBodyHttpServletRequest.readBody(request, BODY.length)).isEqualTo(BODY);
+    }
+
+    @Test
+    void readListenerReceivesWholeBody() throws IOException {
+        ServletInputStream input = new CachedBodyHttpServletRequest(new MockHttpServletRequest(), BODY).getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data");
+                byte[] buffer = new byte[8];
+                while (input.isReady() && !input.isFinished()) {
+                    int n = input.read(buffer);
+                    read.write(buffer, 0, n);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertThat(read.toByteArray()).isEqualTo(BODY);
+        assertThat(events).containsExactly("data", "done");
+        assertThatThrownBy(() -> input.setReadListener(new NoopListener())).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void readListenerOnEmptyBodyCompletesImmediately() throws IOException {
+        ServletInputStream input = new CachedBodyHttpServletRequest(new MockHttpServletRequest(), new byte[0]).getInputStream();
+        List<String> events = new ArrayList<>();
+
+        input.setReadListener(new NoopListener() {
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+        });
+
+        assertThat(events).containsExactly("done");
+    }
+
+    private static class NoopListener implements ReadListener {
+        @Override
+        public void onDataAvailable() {
+        }
+
+        @Override
+        public void onAllDataRead() {
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.redisex.global.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterTest {
+
+    @Test
+    void allowsUpToLimitPerKey() {
+        LocalRateLimiter limiter = new LocalRateLimiter(3);
+        // 창 경계에 걸리지 않도록 초가 바뀐 직후부터 시작
+        awaitFreshSecond();
+
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isFalse();
+        assertThat(limiter.tryAcquire("b")).isTrue();
+    }
+
+    @Test
+    void resetsInNextWindow() throws InterruptedException {
+        LocalRateLimiter limiter = new LocalRateLimiter(1);
+        awaitFreshSecond();
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isFalse();
+
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 10);
+
+        assertThat(limiter.tryAcquire("a")).isTrue();
+    }
+
+    @Test
+    void dropsStaleWindowsOncePerSecond() throws InterruptedException {
+        LocalRateLimiter limiter = new LocalRateLimiter(10);
+        awaitFreshSecond();
+        for (int i = 0; i <= 10_000; i++) limiter.tryAcquire("ip-" + i);
+        // 같은 초에는 정리 대상(지난 창)이 없으므로 그대로
+        limiter.tryAcquire("ip-extra");
+        assertThat(limiter.size()).isEqualTo(10_002);
+
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 10);
+        limiter.tryAcquire("next");
+
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    private static void awaitFreshSecond() {
+        while (System.currentTimeMillis() % 1000 > 500) Thread.onSpinWait();
+    }
+}
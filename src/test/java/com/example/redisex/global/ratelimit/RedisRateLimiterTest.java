@@ -0,0 +1,75 @@
+package com.example.redisex.global.ratelimit;
+
+import com.example.redisex.support.EmbeddedRedis;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    rate-limit.lua를 내장 redis에서 RedisRateLimiter를 통해 검증
+ */
+class RedisRateLimiterTest {
+    private final RedisTemplate<String, String> redisTemplate = EmbeddedRedis.template();
+    private final RedisRateLimiter limiter = new RedisRateLimiter(redisTemplate);
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll();
+    }
+
+    @Test
+    void allowsBurstUpToCapacityThenReportsWait() {
+        // 용량 3, 초당 1개 충전
+        List<RedisRateLimiter.Limit> limits = List.of(new RedisRateLimiter.Limit("rate:a", 3, 0.001));
+
+        assertThat(limiter.tryAcquire(limits)).isZero();
+        assertThat(limiter.tryAcquire(limits)).isZero();
+        assertThat(limiter.tryAcquire(limits)).isZero();
+        long retryAfter = limiter.tryAcquire(limits);
+
+        assertThat(retryAfter).isBetween(1L, 1000L);
+        // 버킷이 다시 가득 찰 시간(3초) 뒤에는 키가 사라짐
+        assertThat(redisTemplate.getExpire("rate:a")).isBetween(1L, 3L);
+    }
+
+    @Test
+    void rejectsWhenAnyBucketIsEmpty() {
+        RedisRateLimiter.Limit ip = new RedisRateLimiter.Limit("rate:ip", 10, 0.01);
+        RedisRateLimiter.Limit user = new RedisRateLimiter.Limit("rate:user", 1, 0.001);
+
+        assertThat(limiter.tryAcquire(List.of(ip, user))).isZero();
+        assertThat(limiter.tryAcquire(List.of(ip, user))).isPositive();
+        // 다른 사용자는 같은 IP 버킷이 남아 있으므로 허용
+        assertThat(limiter.tryAcquire(List.of(ip, new RedisRateLimiter.Limit("rate:other", 1, 0.001)))).isZero();
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        List<RedisRateLimiter.Limit> limits = List.of(new RedisRateLimiter.Limit("rate:a", 1, 0.02));
+        assertThat(limiter.tryAcquire(limits)).isZero();
+        assertThat(limiter.tryAcquire(limits)).isPositive();
+
+        Thread.sleep(100);
+
+        assertThat(limiter.tryAcquire(limits)).isZero();
+    }
+
+    @Test
+    void reloadsScriptAfterFlush() {
+        List<RedisRateLimiter.Limit> limits = List.of(new RedisRateLimiter.Limit("rate:a", 2, 0.001));
+        assertThat(limiter.tryAcquire(limits)).isZero();
+
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.scriptingCommands().scriptFlush();
+            return null;
+        });
+
+        assertThat(limiter.tryAcquire(limits)).isZero();
+        assertThat(limiter.tryAcquire(limits)).isPositive();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.redisex.global.redis;
+
+import com.example.redisex.support.EmbeddedRedis;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    쓰기 묶음 전송과 쓰기별 결과 처리를 내장 redis에서 검증
+ */
+class RedisWriteCoalescerTest {
+    private static final int BATCH = 4;
+
+    private final RedisTemplate<String, String> redisTemplate = EmbeddedRedis.template();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RedisWriteCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll();
+        // 묶음이 BATCH개로 찰 때까지 충분히 기다리도록 지연을 길게 둠
+        coalescer = new RedisWriteCoalescer(
+                redisTemplate, meterRegistry, true, BATCH, 2_000_000, 1000, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        coalescer.destroy();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Throwable failure(CompletableFuture<Void> future) {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private DistributionSummary batchSize() {
+        return meterRegistry.get("redis.write.batch.size").summary();
+    }
+
+    @Test
+    void coalescesWritesIntoOnePipeline() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            String key = "k" + i;
+            futures[i] = coalescer.submit(commands -> List.of(commands.set(bytes(key), bytes("v"))));
+        }
+
+        CompletableFuture.allOf(futures).join();
+
+        assertThat(batchSize().count()).isEqualTo(1);
+        assertThat(batchSize().totalAmount()).isEqualTo(BATCH);
+        for (int i = 0; i < BATCH; i++) assertThat(redisTemplate.opsForValue().get("k" + i)).isEqualTo("v");
+    }
+
+    @Test
+    void errorReplyFailsOnlyItsWrite() {
+        redisTemplate.opsForValue().set("text", "not-a-number");
+
+        CompletableFuture<Void> before = coalescer.submit(commands -> List.of(commands.set(bytes("a"), bytes("1"))));
+        CompletableFuture<Void> broken = coalescer.submit(commands -> List.of(commands.incr(bytes("text"))));
+        CompletableFuture<Void> status = coalescer.submit(commands -> List.of(commands.setex(bytes("b"), 60, bytes("2"))));
+        CompletableFuture<Void> multi = coalescer.submit(commands -> List.of(
+                commands.incr(bytes("c")),
+                commands.expire(bytes("c"), 60)));
+
+        assertThat(failure(before)).isNull();
+        assertThat(failure(broken)).isInstanceOf(DataAccessException.class);
+        assertThat(failure(status)).isNull();
+        assertThat(failure(multi)).isNull();
+        assertThat(batchSize().count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("redis.write.failures").count()).isEqualTo(1);
+        assertThat(redisTemplate.opsForValue().get("c")).isEqualTo("1");
+    }
+
+    @Test
+    void errorInLaterCommandFailsWholeWrite() {
+        redisTemplate.opsForValue().set("text", "not-a-number");
+
+        CompletableFuture<Void> write = coalescer.submit(commands -> List.of(
+                commands.set(bytes("x"), bytes("1")),
+                commands.incr(bytes("text"))));
+        CompletableFuture<Void> other = coalescer.submit(commands -> List.of(commands.incr(bytes("y"))));
+        coalescer.submit(commands -> List.of(commands.incr(bytes("y"))));
+        coalescer.submit(commands -> List.of(commands.incr(bytes("y"))));
+
+        assertThat(failure(write)).isInstanceOf(DataAccessException.class);
+        assertThat(failure(other)).isNull();
+    }
+
+    @Test
+    void exceptionWhileQueueingFailsOnlyThatWrite() {
+        CompletableFuture<Void> ok = coalescer.submit(commands -> List.of(commands.incr(bytes("n"))));
+        CompletableFuture<Void> thrown = coalescer.submit(commands -> {
+            throw new IllegalArgumentException("bad write");
+        });
+        coalescer.submit(commands -> List.of(commands.incr(bytes("n"))));
+        coalescer.submit(commands -> List.of(commands.incr(bytes("n"))));
+
+        assertThat(failure(ok)).isNull();
+        assertThat(failure(thrown)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(redisTemplate.opsForValue().get("n")).isEqualTo("3");
+    }
+
+    @Test
+    void failedWriteDoesNotBlockLaterBatches() {
+        redisTemplate.opsForValue().set("text", "not-a-number");
+        for (int i = 0; i < BATCH; i++) coalescer.submit(commands -> List.of(commands.incr(bytes("text"))));
+
+        CompletableFuture<?>[] later = new CompletableFuture<?>[BATCH];
+        for (int i = 0; i < BATCH; i++) later[i] = coalescer.submit(commands -> List.of(commands.incr(bytes("m"))));
+
+        CompletableFuture.allOf(later).join();
+        assertThat(redisTemplate.opsForValue().get("m")).isEqualTo(String.valueOf(BATCH));
+    }
+
+    @Test
+    void ackWriteThrowsDataAccessException() throws InterruptedException {
+        coalescer.destroy();
+        coalescer = new RedisWriteCoalescer(
+                redisTemplate, meterRegistry, false, BATCH, 100, 1000, Duration.ofSeconds(5));
+        redisTemplate.opsForValue().set("text", "not-a-number");
+
+        assertThatThrownBy(() -> coalescer.write(commands -> List.of(commands.incr(bytes("text"))),
+                RedisWriteCoalescer.Durability.ACK)).isInstanceOf(DataAccessException.class);
+        coalescer.write(commands -> List.of(commands.incr(bytes("counter"))), RedisWriteCoalescer.Durability.ACK);
+        assertThat(redisTemplate.opsForValue().get("counter")).isEqualTo("1");
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.redisex.global.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkPasswordHasherTest {
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+    // 해시 대신 입력 앞에 표시를 붙이고 실행 스레드를 기록
+    private final PasswordEncoder encoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            threads.add(Thread.currentThread().getName());
+            return "h:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("h:" + rawPassword);
+        }
+    };
+    private final BulkPasswordHasher hasher = new BulkPasswordHasher(encoder, new SimpleMeterRegistry(), 3, 4, 10_000);
+
+    @AfterEach
+    void tearDown() {
+        hasher.destroy();
+    }
+
+    @Test
+    void keepsInputOrder() {
+        List<String> raw = IntStream.range(0, 100).mapToObj(i -> "pw" + i).toList();
+
+        List<String> encoded = hasher.encodeAll(raw);
+
+        assertThat(encoded).containsExactlyElementsOf(raw.stream().map(p -> "h:" + p).toList());
+    }
+
+    @Test
+    void runsOnBulkPoolNotCallerThread() {
+        hasher.encodeAll(IntStream.range(0, 30).mapToObj(i -> "pw" + i).toList());
+
+        assertThat(threads).isNotEmpty().allMatch(name -> name.startsWith("password-hash-bulk-"));
+    }
+
+    @Test
+    void fewerRowsThanThreads() {
+        assertThat(hasher.encodeAll(List.of("a"))).containsExactly("h:a");
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.redisex.global.security;
+
+import com.example.redisex.global.redis.RedisWriteCoalescer;
+import com.example.redisex.support.EmbeddedRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    login-failure.lua를 내장 redis에서 LoginAttemptService를 통해 검증
+ */
+class LoginAttemptServiceTest {
+    private static final int MAX_FAILURES = 3;
+    private static final long LOCK_BASE = 10_000L;
+    private static final long LOCK_MAX = 1_000_000_000L;
+
+    private final RedisTemplate<String, String> redisTemplate = EmbeddedRedis.template();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RedisWriteCoalescer writeCoalescer;
+    private LoginAttemptService service;
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll();
+        writeCoalescer = new RedisWriteCoalescer(
+                redisTemplate, meterRegistry, true, 64, 100, 1000, Duration.ofSeconds(2));
+        service = new LoginAttemptService(redisTemplate, writeCoalescer, meterRegistry,
+                MAX_FAILURES, 60_000L, LOCK_BASE, LOCK_MAX);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writeCoalescer.destroy();
+    }
+
+    private long lockTtl(String username) {
+        return redisTemplate.getExpire("login-lock:{" + username + "}", TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void locksOnlyAtThreshold() {
+        assertThat(service.recordFailure("alice")).isZero();
+        assertThat(service.recordFailure("alice")).isZero();
+        assertThat(service.state("alice").locked()).isFalse();
+
+        long lockedUntil = service.recordFailure("alice");
+
+        assertThat(lockedUntil).isGreaterThan(System.currentTimeMillis());
+        assertThat(lockTtl("alice")).isBetween(LOCK_BASE - 1_000, LOCK_BASE);
+        assertThat(service.state("alice").failures()).isEqualTo(3);
+        assertThat(service.state("alice").locked()).isTrue();
+        assertThat(redisTemplate.getExpire("login-fail:{alice}", TimeUnit.MILLISECONDS)).isPositive();
+    }
+
+    @Test
+    void doublesLockPerExtraFailureUpToMax() {
+        LoginAttemptService capped = new LoginAttemptService(redisTemplate, writeCoalescer, meterRegistry,
+                MAX_FAILURES, 60_000L, LOCK_BASE, 25_000L);
+        for (int i = 0; i < MAX_FAILURES; i++) capped.recordFailure("bob");
+        capped.recordFailure("bob");
+        assertThat(lockTtl("bob")).isBetween(19_000L, 20_000L);
+
+        capped.recordFailure("bob");
+        assertThat(lockTtl("bob")).isBetween(24_000L, 25_000L);
+    }
+
+    @Test
+    void concurrentFailuresKeepLockOfHighestCount() throws Exception {
+        int attempts = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return service.recordFailure("carol");
+                }));
+            }
+            start.countDown();
+            int locked = 0;
+            for (Future<Long> future : futures) if (future.get(5, TimeUnit.SECONDS) > 0) locked++;
+
+            // 횟수 증가와 잠금이 함께 실행되므로 마지막 잠금은 가장 큰 횟수(16)의 잠금 시간
+            long expected = LOCK_BASE << (attempts - MAX_FAILURES);
+            assertThat(lockTtl("carol")).isBetween(expected - 1_000, expected);
+            assertThat(locked).isEqualTo(attempts - MAX_FAILURES + 1);
+            assertThat(meterRegistry.counter("login.lockouts").count()).isEqualTo(locked);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void resetClearsFailures() throws Exception {
+        service.recordFailure("dave");
+
+        service.reset("dave");
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (service.state("dave").failures() != 0 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+
+        assertThat(service.state("dave").failures()).isZero();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.redisex.support;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.TestSocketUtils;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/*
+    redis 스크립트/파이프라인 테스트용 내장 redis (테스트 JVM당 하나)
+    RedisConfig와 같은 직렬화 설정의 RedisTemplate을 제공하며, 각 테스트는 시작 전에 flushAll()로 비움
+ */
+public final class EmbeddedRedis {
+    private static RedisServer server;
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, String> template;
+
+    private EmbeddedRedis() {
+    }
+
+    public static synchronized RedisTemplate<String, String> template() {
+        if (template == null) start();
+        return template;
+    }
+
+    public static synchronized LettuceConnectionFactory connectionFactory() {
+        if (connectionFactory == null) start();
+        return connectionFactory;
+    }
+
+    public static void flushAll() {
+        template().execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    private static void start() {
+        int port = TestSocketUtils.findAvailableTcpPort();
+        try {
+            server = new RedisServer(port);
+            server.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+
+        template = new RedisTemplate<>();
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new StringRedisSerializer());
+        template.setConnectionFactory(connectionFactory);
+        template.afterPropertiesSet();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            connectionFactory.destroy();
+            try {
+                server.stop();
+            } catch (IOException ignored) {
+                // JVM 종료 중이므로 무시
+            }
+        }));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.redisex.user.dto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserImportDtoTest {
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private static UserImportDto request(String username, String password, String email, String phone) {
+        UserImportDto.User row = new UserImportDto.User();
+        ReflectionTestUtils.setField(row, "username", username);
+        ReflectionTestUtils.setField(row, "password", password);
+        ReflectionTestUtils.setField(row, "email", email);
+        ReflectionTestUtils.setField(row, "phone", phone);
+        UserImportDto request = new UserImportDto();
+        ReflectionTestUtils.setField(request, "users", List.of(row));
+        return request;
+    }
+
+    private Set<String> invalidFields(UserImportDto request) {
+        return validator.validate(request).stream()
+                .map(ConstraintViolation::getPropertyPath)
+                .map(path -> path.toString().substring(path.toString().lastIndexOf('.') + 1))
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    void acceptsJoinCompatibleRow() {
+        assertThat(invalidFields(request("alice01", "Password1!", "alice@example.com", "010-1234-5678"))).isEmpty();
+    }
+
+    @Test
+    void acceptsBcryptHashAsPassword() {
+        assertThat(invalidFields(request("alice01", "$2a$10$" + "a".repeat(53), "alice@example.com", "010-1234-5678"))).isEmpty();
+    }
+
+    @Test
+    void rejectsRowsJoinWouldReject() {
+        assertThat(invalidFields(request("a", "short", "not-an-email", "12345")))
+                .containsExactlyInAnyOrder("username", "password", "email", "phone");
+    }
+}
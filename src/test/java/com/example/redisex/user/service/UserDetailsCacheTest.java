@@ -0,0 +1,103 @@
+package com.example.redisex.user.service;
+
+import com.example.redisex.global.redis.RedisClientSideCache;
+import com.example.redisex.support.EmbeddedRedis;
+import com.example.redisex.user.dto.CustomUserDetails;
+import com.example.redisex.user.entity.UserEntity;
+import com.example.redisex.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/*
+    UserDetailsCache의 redis 저장 형식과 클라이언트 측 캐시 사용 시 로컬 단계 우회를 내장 redis에서 검증
+ */
+class UserDetailsCacheTest {
+    private final RedisTemplate<String, String> redisTemplate = EmbeddedRedis.template();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RedisMessageListenerContainer listenerContainer;
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll();
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(EmbeddedRedis.connectionFactory());
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(UserEntity.builder()
+                .username("alice").password("$2a$10$secret").email("a@example.com").phone("010-0000-0000").build()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        listenerContainer.destroy();
+    }
+
+    private UserDetailsCache cache(RedisClientSideCache clientSideCache) {
+        return new UserDetailsCache(userRepository, redisTemplate, clientSideCache, objectMapper,
+                listenerContainer, new SimpleMeterRegistry(), 100, 30_000L, 60_000L);
+    }
+
+    @Test
+    void redisJsonHasNoPasswordHash() {
+        UserDetailsCache cache = cache(new RedisClientSideCache(redisTemplate, new SimpleMeterRegistry(), 100, 60_000L));
+
+        CustomUserDetails user = cache.get("alice");
+
+        String json = redisTemplate.opsForValue().get("user-details:alice");
+        assertThat(json).contains("a@example.com").doesNotContain("password").doesNotContain("secret");
+        assertThat(user.getPassword()).isNull();
+        assertThat(user.getEmail()).isEqualTo("a@example.com");
+    }
+
+    @Test
+    void ignoresPasswordInPreviouslyCachedJson() {
+        redisTemplate.opsForValue().set("user-details:alice",
+                "{\"username\":\"alice\",\"password\":\"$2a$10$old\",\"email\":\"a@example.com\",\"roles\":1}");
+        UserDetailsCache cache = cache(new RedisClientSideCache(redisTemplate, new SimpleMeterRegistry(), 100, 60_000L));
+
+        CustomUserDetails user = cache.get("alice");
+
+        assertThat(user.getPassword()).isNull();
+        assertThat(user.getEmail()).isEqualTo("a@example.com");
+    }
+
+    @Test
+    void localTierServesRepeatedReadsWithoutTracking() {
+        RedisClientSideCache clientSideCache = mock(RedisClientSideCache.class);
+        when(clientSideCache.get("user-details:alice")).thenReturn("{\"username\":\"alice\",\"email\":\"a@example.com\"}");
+        UserDetailsCache cache = cache(clientSideCache);
+
+        cache.get("alice");
+        cache.get("alice");
+
+        verify(clientSideCache, times(1)).get("user-details:alice");
+    }
+
+    @Test
+    void trackingBypassesLocalTier() {
+        RedisClientSideCache clientSideCache = mock(RedisClientSideCache.class);
+        when(clientSideCache.isTracking()).thenReturn(true);
+        when(clientSideCache.get("user-details:alice"))
+                .thenReturn("{\"username\":\"alice\",\"email\":\"a@example.com\"}")
+                .thenReturn("{\"username\":\"alice\",\"email\":\"b@example.com\"}");
+        UserDetailsCache cache = cache(clientSideCache);
+
+        assertThat(cache.get("alice").getEmail()).isEqualTo("a@example.com");
+        // 추적 캐시가 무효화되어 새 값을 돌려주면 로컬 단계에 남은 이전 값 없이 바로 반영
+        assertThat(cache.get("alice").getEmail()).isEqualTo("b@example.com");
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.redisex.user.service;
+
+import com.example.redisex.global.jwt.JwtTokenDto;
+import com.example.redisex.global.jwt.JwtTokenProvider;
+import com.example.redisex.global.jwt.RefreshTokenStore;
+import com.example.redisex.global.jwt.TokenRevocationService;
+import com.example.redisex.global.security.BulkPasswordHasher;
+import com.example.redisex.global.security.LoginAttemptService;
+import com.example.redisex.global.security.PasswordHashingExecutor;
+import com.example.redisex.user.dto.CustomUserDetails;
+import com.example.redisex.user.dto.LoginDto;
+import com.example.redisex.user.dto.UserImportDto;
+import com.example.redisex.user.entity.UserEntity;
+import com.example.redisex.user.repository.UserBatchRepository;
+import com.example.redisex.user.repository.UserConflicts;
+import com.example.redisex.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+    private final UserDetailsCache userDetailsCache = mock(UserDetailsCache.class);
+    private final RefreshTokenStore refreshTokenStore = mock(RefreshTokenStore.class);
+    private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+    private final PasswordHashingExecutor passwordHashingExecutor = mock(PasswordHashingExecutor.class);
+    private final BulkPasswordHasher bulkPasswordHasher = mock(BulkPasswordHasher.class);
+    private final UserBatchRepository userBatchRepository = mock(UserBatchRepository.class);
+    private final LoginAttemptService loginAttemptService = mock(LoginAttemptService.class);
+    private UserService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserService(userRepository, mock(PasswordEncoder.class), null, jwtTokenProvider,
+                userDetailsCache, refreshTokenStore, tokenRevocationService, passwordHashingExecutor,
+                bulkPasswordHasher, userBatchRepository, loginAttemptService);
+        when(loginAttemptService.state(anyString())).thenReturn(LoginAttemptService.AttemptState.NONE);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(UserEntity.builder()
+                .username("alice").password("hash").email("a@example.com").phone("010-0000-0000").build()));
+        when(jwtTokenProvider.createAccessToken(any(), anyString())).thenReturn("access");
+        when(jwtTokenProvider.createRefreshToken(any(), anyString())).thenReturn("refresh");
+    }
+
+    private static UserImportDto.User row(String username, String password) {
+        UserImportDto.User row = new UserImportDto.User();
+        ReflectionTestUtils.setField(row, "username", username);
+        ReflectionTestUtils.setField(row, "password", password);
+        ReflectionTestUtils.setField(row, "email", username + "@example.com");
+        ReflectionTestUtils.setField(row, "phone", "010-0000-0000");
+        return row;
+    }
+
+    private static UserConflicts conflicts(long username, long email, long phone) {
+        UserConflicts conflicts = mock(UserConflicts.class);
+        when(conflicts.getUsernameCount()).thenReturn(username);
+        when(conflicts.getEmailCount()).thenReturn(email);
+        when(conflicts.getPhoneCount()).thenReturn(phone);
+        return conflicts;
+    }
+
+    private static LoginDto login(String username, String password) {
+        LoginDto request = new LoginDto();
+        ReflectionTestUtils.setField(request, "username", username);
+        ReflectionTestUtils.setField(request, "password", password);
+        return request;
+    }
+
+    @Test
+    void loginIsNotTransactional() throws NoSuchMethodException {
+        // BCrypt 비교와 redis 쓰기 동안 DB 연결을 잡지 않도록 트랜잭션 없이 실행
+        assertThat(UserService.class.getMethod("login", LoginDto.class)
+                .isAnnotationPresent(jakarta.transaction.Transactional.class)).isFalse();
+        assertThat(UserService.class.getMethod("login", LoginDto.class)
+                .isAnnotationPresent(org.springframework.transaction.annotation.Transactional.class)).isFalse();
+    }
+
+    @Test
+    void loginIssuesTokens() {
+        when(passwordHashingExecutor.matches("pw", "hash")).thenReturn(true);
+
+        JwtTokenDto tokens = service.login(login("alice", "pw"));
+
+        assertThat(tokens.getAccessToken()).isEqualTo("access");
+        assertThat(tokens.getRefreshToken()).isEqualTo("refresh");
+        verify(userRepository, never()).updatePassword(anyString(), anyString());
+    }
+
+    @Test
+    void loginRehashesOutdatedPasswordWithSingleUpdate() {
+        when(passwordHashingExecutor.matches("pw", "hash")).thenReturn(true);
+        when(passwordHashingExecutor.upgradeEncoding("hash")).thenReturn(true);
+        when(passwordHashingExecutor.encode("pw")).thenReturn("new-hash");
+
+        service.login(login("alice", "pw"));
+
+        verify(userRepository).updatePassword("alice", "new-hash");
+        verify(userDetailsCache).evict("alice");
+    }
+
+    @Test
+    void loginReadsPasswordHashFromDatabaseNotCache() {
+        when(passwordHashingExecutor.matches("pw", "hash")).thenReturn(true);
+
+        service.login(login("alice", "pw"));
+
+        verify(userRepository).findByUsername("alice");
+        verify(userDetailsCache, never()).get(anyString());
+    }
+
+    @Test
+    void wrongPasswordRecordsFailure() {
+        when(passwordHashingExecutor.matches("bad", "hash")).thenReturn(false);
+
+        assertThatThrownBy(() -> service.login(login("alice", "bad")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+        verify(loginAttemptService).recordFailure("alice");
+    }
+
+    @Test
+    void lockedAccountSkipsLookupAndBcrypt() {
+        when(loginAttemptService.state("alice")).thenReturn(
+                new LoginAttemptService.AttemptState(5L, System.currentTimeMillis() + 60_000));
+
+        assertThatThrownBy(() -> service.login(login("alice", "pw")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.LOCKED));
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(passwordHashingExecutor, never()).matches(anyString(), eq("hash"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importHashesOnlyPlainPasswordsInBulkPool() {
+        String hashed = "$2a$10$" + "a".repeat(53);
+        UserImportDto request = new UserImportDto();
+        ReflectionTestUtils.setField(request, "users", List.of(row("u1", "plain1"), row("u2", hashed), row("u3", "plain3")));
+        when(bulkPasswordHasher.encodeAll(List.of("plain1", "plain3"))).thenReturn(List.of("h1", "h3"));
+
+        service.importUsers(request);
+
+        ArgumentCaptor<List<UserEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userBatchRepository).insertAll(captor.capture());
+        assertThat(captor.getValue()).extracting(UserEntity::getPassword).containsExactly("h1", hashed, "h3");
+        verify(passwordHashingExecutor, never()).encode(anyString());
+    }
+
+    @Test
+    void importWithOnlyHashedPasswordsSkipsHashing() {
+        UserImportDto request = new UserImportDto();
+        ReflectionTestUtils.setField(request, "users", List.of(row("u1", "$2b$12$" + "b".repeat(53))));
+
+        service.importUsers(request);
+
+        verify(bulkPasswordHasher, never()).encodeAll(anyList());
+    }
+
+    @Test
+    void updateUserRejectsEmailTakenByAnotherUser() {
+        UserEntity entity = UserEntity.builder().username("alice").password("hash")
+                .email("a@example.com").phone("010-0000-0000").build();
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(entity));
+        UserConflicts taken = conflicts(0, 1, 0);
+        when(userRepository.findConflicts(null, "b@example.com", null)).thenReturn(taken);
+
+        assertThatThrownBy(() -> service.updateUser(CustomUserDetails.builder()
+                .username("alice").email("b@example.com").phone("010-0000-0000").build()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        assertThat(entity.getEmail()).isEqualTo("a@example.com");
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateUserMapsUniqueIndexViolationToConflict() {
+        UserEntity entity = UserEntity.builder().username("alice").password("hash")
+                .email("a@example.com").phone("010-0000-0000").build();
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(entity));
+        UserConflicts free = conflicts(0, 0, 0);
+        when(userRepository.findConflicts(null, null, "010-1111-1111")).thenReturn(free);
+        when(userRepository.saveAndFlush(entity)).thenThrow(new org.springframework.dao.DataIntegrityViolationException("dup"));
+
+        assertThatThrownBy(() -> service.updateUser(CustomUserDetails.builder()
+                .username("alice").email("a@example.com").phone("010-1111-1111").build()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        verify(userDetailsCache, never()).evict("alice");
+    }
+}